@@ -0,0 +1,59 @@
+package maze.bench;
+
+import maze.BatchSolver;
+import maze.MazeGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// One batch of random queries per op through BatchSolver; ops/s times `queries` is queries/s.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class BatchBenchmark {
+    @Param({"256x256"})
+    public String size;
+
+    @Param({"A*", "A* (ALT)", "BFS"})
+    public String algo;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    @Param("256")
+    public int queries;
+
+    @Param("42")
+    public long seed;
+
+    private BatchSolver solver;
+    private List<BatchSolver.Query> batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MazeGrid maze = BenchmarkMazes.generate(size, seed);
+        solver = new BatchSolver(maze, threads, virtual);
+        SplittableRandom rand = new SplittableRandom(seed);
+        batch = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) batch.add(new BatchSolver.Query(rand.nextInt(maze.size()), rand.nextInt(maze.size()), algo));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        solver.close();
+    }
+
+    @Benchmark
+    public BatchSolver.Batch solveBatch() {
+        return solver.submitAll(batch).join();
+    }
+}
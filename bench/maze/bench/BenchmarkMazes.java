@@ -0,0 +1,22 @@
+package maze.bench;
+
+import maze.MazeGenerator;
+import maze.MazeGrid;
+
+final class BenchmarkMazes {
+    private BenchmarkMazes() {}
+
+    // "COLSxROWS" -> {cols, rows}
+    static int[] parseSize(String size) {
+        String[] parts = size.split("x");
+        return new int[] {Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    static MazeGrid generate(String size, long seed) {
+        int[] dims = parseSize(size);
+        MazeGrid maze = new MazeGenerator(seed).generate(dims[0], dims[1]);
+        maze.setTerrainCost(0, 0);
+        maze.setTerrainCost(maze.size() - 1, 0);
+        return maze;
+    }
+}
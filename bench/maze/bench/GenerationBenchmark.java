@@ -0,0 +1,62 @@
+package maze.bench;
+
+import maze.MazeGenerator;
+import maze.MazeGrid;
+import maze.ParallelMazeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class GenerationBenchmark {
+    @Param({"35x25", "256x256", "1024x1024", "4096x4096", "8192x8192"})
+    public String size;
+
+    @Param("42")
+    public long seed;
+
+    @Param("256")
+    public int tileSize;
+
+    private int cols, rows;
+    private MazeGrid carved;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] dims = BenchmarkMazes.parseSize(size);
+        cols = dims[0];
+        rows = dims[1];
+        carved = new MazeGrid(cols, rows);
+    }
+
+    @Benchmark
+    public MazeGrid generatePrimsMaze() {
+        MazeGrid grid = new MazeGrid(cols, rows);
+        new MazeGenerator(seed).generatePrimsMaze(grid);
+        return grid;
+    }
+
+    @Benchmark
+    public MazeGrid assignTerrains() {
+        new MazeGenerator(seed).assignTerrains(carved);
+        return carved;
+    }
+
+    @Benchmark
+    public MazeGrid generateTiledMaze() {
+        MazeGrid grid = new MazeGrid(cols, rows);
+        new ParallelMazeGenerator(seed, tileSize).generateTiledMaze(grid);
+        return grid;
+    }
+
+    @Benchmark
+    public MazeGrid assignTerrainsParallel() {
+        new ParallelMazeGenerator(seed, tileSize).assignTerrains(carved);
+        return carved;
+    }
+}
@@ -0,0 +1,19 @@
+package maze.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// JMH entry point that attaches the gc profiler (per-op allocation) unless another
+// profiler is requested. Accepts the usual JMH flags, e.g.
+//   java -jar target/benchmarks.jar SolverBenchmark -p size=1024x1024 -p algo=A*
+public class MazeBenchmarks {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
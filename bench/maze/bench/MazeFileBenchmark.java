@@ -0,0 +1,68 @@
+package maze.bench;
+
+import maze.MazeFile;
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Saving and loading maze files, and solving straight from a loaded one: uncompressed
+// files come back as a mapping, compressed ones as a heap grid.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class MazeFileBenchmark {
+    @Param({"1024x1024", "4096x4096"})
+    public String size;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    @Param("42")
+    public long seed;
+
+    private MazeFile file;
+    private MazeFile loaded;
+    private Path path, scratch;
+    private MazeSolver solver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MazeGrid maze = BenchmarkMazes.generate(size, seed);
+        file = new MazeFile(maze, seed, 0, maze.size() - 1);
+        path = Files.createTempFile("bench", ".maze");
+        scratch = Files.createTempFile("bench-save", ".maze");
+        file.save(path, compress);
+        loaded = MazeFile.load(path);
+        solver = MazeSolver.create("BFS");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(scratch);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        file.save(scratch, compress);
+    }
+
+    @Benchmark
+    public MazeFile load() throws IOException {
+        return MazeFile.load(path);
+    }
+
+    @Benchmark
+    public SolveResult solveLoaded() {
+        return solver.solve(loaded.grid, loaded.start, loaded.end);
+    }
+}
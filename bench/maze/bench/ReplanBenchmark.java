@@ -0,0 +1,54 @@
+package maze.bench;
+
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// A few random terrain edits followed by a query for the same route: D* Lite repairs its
+// previous search, the other solvers start over.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ReplanBenchmark {
+    private static final int[] COSTS = {0, 1, 5, 10};
+
+    @Param({"256x256", "1024x1024"})
+    public String size;
+
+    @Param({"D* Lite", "Dijkstra", "A*"})
+    public String algo;
+
+    @Param({"1", "16"})
+    public int edits;
+
+    @Param("42")
+    public long seed;
+
+    private MazeGrid maze;
+    private MazeSolver solver;
+    private int start, end;
+    private SplittableRandom rand;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = BenchmarkMazes.generate(size, seed);
+        solver = MazeSolver.create(algo);
+        rand = new SplittableRandom(seed);
+        start = 0;
+        end = maze.size() - 1;
+        solver.solve(maze, start, end);
+    }
+
+    @Benchmark
+    public SolveResult editAndReplan() {
+        for (int i = 0; i < edits; i++) maze.setTerrainCost(rand.nextInt(maze.size()), COSTS[rand.nextInt(COSTS.length)]);
+        return solver.solve(maze, start, end);
+    }
+}
@@ -0,0 +1,56 @@
+package maze.bench;
+
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.RouteCache;
+import maze.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repeated queries drawn from a small pool of sources and targets, with and without RouteCache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RouteCacheBenchmark {
+    @Param({"256x256", "1024x1024"})
+    public String size;
+
+    @Param({"Dijkstra", "A*"})
+    public String algo;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param("42")
+    public long seed;
+
+    private MazeGrid maze;
+    private MazeSolver solver;
+    private RouteCache cache;
+    private int[] sources, targets;
+    private SplittableRandom rand;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = BenchmarkMazes.generate(size, seed);
+        solver = MazeSolver.create(algo);
+        cache = new RouteCache(maze, 4096, 16);
+        rand = new SplittableRandom(seed);
+        sources = new int[8];
+        targets = new int[256];
+        for (int i = 0; i < sources.length; i++) sources[i] = rand.nextInt(maze.size());
+        for (int i = 0; i < targets.length; i++) targets[i] = rand.nextInt(maze.size());
+    }
+
+    @Benchmark
+    public SolveResult query() {
+        int start = sources[rand.nextInt(sources.length)];
+        int end = targets[rand.nextInt(targets.length)];
+        return cached ? cache.query(start, end, algo) : solver.solve(maze, start, end);
+    }
+}
@@ -0,0 +1,56 @@
+package maze.bench;
+
+import maze.DfsSolver;
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SolverBenchmark {
+    @Param({"35x25", "256x256", "1024x1024", "4096x4096", "8192x8192"})
+    public String size;
+
+    // "A* (ALT)" and "HPA*" preprocess during the first warmup solve and reuse it after.
+    @Param({"BFS", "DFS", "Dijkstra", "A*", "Bi-BFS", "Bi-Dijkstra", "Bi-A*", "Parallel BFS", "BFS (bitboard)",
+            "Dijkstra (contracted)", "A* (contracted)", "A* (ALT)", "HPA*"})
+    public String algo;
+
+    // "java" is the old PriorityQueue strategy; add it with -p queue=java (quadratic on big grids).
+    @Param({"heap", "bucket"})
+    public String queue;
+
+    @Param("42")
+    public long seed;
+
+    private MazeGrid maze;
+    private MazeSolver solver;
+
+    // Reported by JMH as expanded nodes per second; divide by ops/s for nodes per solve.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Expansions {
+        public long expanded;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = BenchmarkMazes.generate(size, seed);
+        solver = algo.equals("DFS") ? new DfsSolver(new Random(seed)) : MazeSolver.create(algo, queue);
+    }
+
+    @Benchmark
+    public SolveResult solve(Expansions counters) {
+        SolveResult result = solver.solve(maze, 0, maze.size() - 1);
+        counters.expanded += result.expanded;
+        return result;
+    }
+}
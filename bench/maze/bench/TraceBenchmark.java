@@ -0,0 +1,63 @@
+package maze.bench;
+
+import maze.MazeGrid;
+import maze.MazeSolver;
+import maze.SearchListener;
+import maze.SearchTrace;
+import maze.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of recording a search: the same corner-to-corner solve plain, through a
+// SearchTrace.Recorder (what the search thread pays), and with the trace encoded after it,
+// which also reports the encoded size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TraceBenchmark {
+    @Param({"256x256", "1024x1024"})
+    public String size;
+
+    @Param({"BFS", "Dijkstra", "A*"})
+    public String algo;
+
+    @Param("42")
+    public long seed;
+
+    private MazeGrid maze;
+    private MazeSolver solver;
+
+    // Reported by JMH as trace bytes per second; divide by ops/s for bytes per run.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class TraceBytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = BenchmarkMazes.generate(size, seed);
+        solver = MazeSolver.create(algo);
+    }
+
+    @Benchmark
+    public SolveResult plain() {
+        return solver.solve(maze, 0, maze.size() - 1);
+    }
+
+    @Benchmark
+    public SolveResult recording() {
+        return solver.solve(maze, 0, maze.size() - 1, new SearchTrace.Recorder(maze, SearchListener.NONE));
+    }
+
+    @Benchmark
+    public SearchTrace recorded(TraceBytes counters) {
+        SearchTrace trace = SearchTrace.record(solver, maze, 0, maze.size() - 1, SearchListener.NONE);
+        counters.bytes += trace.bytes();
+        return trace;
+    }
+}
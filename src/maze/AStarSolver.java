@@ -0,0 +1,32 @@
+package maze;
+
+public class AStarSolver extends DijkstraSolver {
+    public AStarSolver() {
+        super();
+    }
+
+    public AStarSolver(IndexedPriorityQueue pq) {
+        super(pq);
+    }
+
+    @Override
+    public String name() {
+        return "A*";
+    }
+
+    @Override
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return estimate(maze, a, b);
+    }
+
+    // Every step costs at least the cheapest terrain, so Manhattan distance times that is a
+    // consistent lower bound. Default mazes have free terrain and it falls back to zero;
+    // AltAStarSolver gives a real bound there.
+    static double estimate(MazeGrid maze, int a, int b) {
+        return (double) manhattan(maze, a, b) * maze.minTerrainCost();
+    }
+
+    static int manhattan(MazeGrid maze, int a, int b) {
+        return Math.abs(maze.col(a) - maze.col(b)) + Math.abs(maze.row(a) - maze.row(b));
+    }
+}
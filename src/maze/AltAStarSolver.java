@@ -0,0 +1,85 @@
+package maze;
+
+// A* with the landmark (ALT) lower bound. The landmarks are built on the first solve of a
+// maze and reused until an edit makes them stale; setLandmarks installs precomputed ones.
+// Each query only consults the ACTIVE landmarks that bound its start best, which keeps
+// the per-node cost low without losing much of the bound.
+public class AltAStarSolver extends DijkstraSolver {
+    public static final int DEFAULT_LANDMARKS = 8;
+    private static final int ACTIVE = 4;
+
+    private final int count;
+    private Landmarks landmarks, query;
+    private final int[] active = new int[ACTIVE];
+    private int activeCount;
+
+    public AltAStarSolver() {
+        this(new IndexedMinHeap(), DEFAULT_LANDMARKS);
+    }
+
+    public AltAStarSolver(IndexedPriorityQueue pq) {
+        this(pq, DEFAULT_LANDMARKS);
+    }
+
+    public AltAStarSolver(IndexedPriorityQueue pq, int count) {
+        super(pq);
+        this.count = count;
+    }
+
+    @Override
+    public String name() {
+        return "A* (ALT)";
+    }
+
+    // Landmarks for `maze`, rebuilt if the current ones belong elsewhere or went stale.
+    public Landmarks landmarks(MazeGrid maze) {
+        if (landmarks == null || !landmarks.isCurrent(maze)) {
+            close();
+            landmarks = new Landmarks(maze, count);
+        }
+        return landmarks;
+    }
+
+    // The landmarks already built for `maze`, or null.
+    public Landmarks cached(MazeGrid maze) {
+        return landmarks != null && landmarks.isCurrent(maze) ? landmarks : null;
+    }
+
+    public void setLandmarks(Landmarks landmarks) {
+        close();
+        this.landmarks = landmarks;
+    }
+
+    public void close() {
+        if (landmarks != null) landmarks.close();
+        landmarks = null;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        Landmarks lm = query = landmarks(maze);
+        // Insertion sort of the landmarks by their bound on the whole query.
+        activeCount = 0;
+        int[] score = new int[ACTIVE];
+        for (int l = 0; l < lm.count(); l++) {
+            int s = lm.bound(l, start, end);
+            int i = Math.min(activeCount, ACTIVE - 1);
+            if (activeCount == ACTIVE && s <= score[i]) continue;
+            for (; i > 0 && score[i - 1] < s; i--) {
+                score[i] = score[i - 1];
+                active[i] = active[i - 1];
+            }
+            score[i] = s;
+            active[i] = l;
+            if (activeCount < ACTIVE) activeCount++;
+        }
+        return super.solve(maze, start, end, listener);
+    }
+
+    @Override
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        int best = 0;
+        for (int i = 0; i < activeCount; i++) best = Math.max(best, query.bound(active[i], a, b));
+        return Math.max(best, AStarSolver.estimate(maze, a, b));
+    }
+}
@@ -0,0 +1,220 @@
+package maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+// Runs many (start, end, algorithm) queries concurrently against one snapshot of a maze.
+// The snapshot is never edited, so searches share it without locking. Solvers keep their
+// g/parent/queue arrays between calls, so each worker borrows an idle solver for the
+// algorithm from a pool instead of allocating per query; at most `parallelism` searches
+// run at once, which also bounds the pool. Virtual threads are used when the runtime has
+// them (looked up reflectively, this builds for 17), otherwise a ForkJoinPool.
+public class BatchSolver implements AutoCloseable {
+    public static final class Query {
+        public final int start, end;
+        public final String algo;
+
+        public Query(int start, int end, String algo) {
+            this.start = start;
+            this.end = end;
+            this.algo = algo;
+        }
+    }
+
+    private final MazeGrid maze;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore running;
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<MazeSolver>> idle = new ConcurrentHashMap<>();
+    private volatile Landmarks landmarks;
+    private volatile CorridorGraph corridors;
+    private volatile ClusterGraph clusters;
+
+    // Snapshots `maze` and runs one search per core, on virtual threads if available.
+    public BatchSolver(MazeGrid maze) {
+        this(maze, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    // Runs `parallelism` searches at once, on virtual threads if `virtual` and the runtime
+    // has them, else on a ForkJoinPool of that size.
+    public BatchSolver(MazeGrid maze, int parallelism, boolean virtual) {
+        this(maze, executor(parallelism, virtual), parallelism, true);
+    }
+
+    // Runs on a caller-supplied executor, which is left open by close().
+    public BatchSolver(MazeGrid maze, ExecutorService executor, int parallelism) {
+        this(maze, executor, parallelism, false);
+    }
+
+    private BatchSolver(MazeGrid maze, ExecutorService executor, int parallelism, boolean ownsExecutor) {
+        this.maze = maze.snapshot();
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.running = new Semaphore(parallelism);
+    }
+
+    private static ExecutorService executor(int parallelism, boolean virtual) {
+        ExecutorService threads = virtual ? virtualThreads() : null;
+        return threads != null ? threads : new ForkJoinPool(parallelism);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() on 21+, null before.
+    static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public MazeGrid maze() {
+        return maze;
+    }
+
+    public boolean usesVirtualThreads() {
+        return !(executor instanceof ForkJoinPool);
+    }
+
+    public CompletableFuture<SolveResult> submit(Query query) {
+        return submit(query, null, 0);
+    }
+
+    // Submits every query at once; results and latencies are collected in the Batch.
+    public Batch submitAll(List<Query> queries) {
+        Batch batch = new Batch(queries.size());
+        for (int i = 0; i < queries.size(); i++) batch.futures.add(submit(queries.get(i), batch, i));
+        return batch;
+    }
+
+    private CompletableFuture<SolveResult> submit(Query query, Batch batch, int slot) {
+        return CompletableFuture.supplyAsync(() -> {
+            running.acquireUninterruptibly();
+            try {
+                MazeSolver solver = borrow(query.algo);
+                try {
+                    return MazeMetrics.solveCounted(solver, maze, query.start, query.end,
+                            batch == null ? nanos -> {} : nanos -> batch.finished(slot, nanos));
+                } finally {
+                    idle.get(query.algo).offer(solver);
+                }
+            } finally {
+                running.release();
+            }
+        }, executor);
+    }
+
+    private MazeSolver borrow(String algo) {
+        ConcurrentLinkedQueue<MazeSolver> pool = idle.get(algo);
+        MazeSolver solver = pool != null ? pool.poll() : null;
+        if (solver != null) return solver;
+        // create() rejects unknown names before they get a pool of their own.
+        solver = MazeSolver.create(algo);
+        idle.computeIfAbsent(algo, a -> new ConcurrentLinkedQueue<>());
+        // The snapshot never changes, so one set of landmarks serves every ALT solver, and
+        // likewise one corridor graph and one set of cluster tables.
+        if (solver instanceof AltAStarSolver) ((AltAStarSolver) solver).setLandmarks(landmarks());
+        if (solver instanceof ContractedDijkstraSolver) ((ContractedDijkstraSolver) solver).setGraph(corridors());
+        if (solver instanceof HierarchicalSolver) ((HierarchicalSolver) solver).setGraph(clusters().share());
+        return solver;
+    }
+
+    private Landmarks landmarks() {
+        Landmarks lm = landmarks;
+        if (lm == null) {
+            synchronized (this) {
+                if (landmarks == null) landmarks = new Landmarks(maze, AltAStarSolver.DEFAULT_LANDMARKS);
+                lm = landmarks;
+            }
+        }
+        return lm;
+    }
+
+    private CorridorGraph corridors() {
+        CorridorGraph cg = corridors;
+        if (cg == null) {
+            synchronized (this) {
+                if (corridors == null) corridors = new CorridorGraph(maze);
+                cg = corridors;
+            }
+        }
+        return cg;
+    }
+
+    private ClusterGraph clusters() {
+        ClusterGraph cg = clusters;
+        if (cg == null) {
+            synchronized (this) {
+                if (clusters == null) clusters = new ClusterGraph(maze, HierarchicalSolver.DEFAULT_CLUSTER);
+                cg = clusters;
+            }
+        }
+        return cg;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) executor.shutdown();
+    }
+
+    // Futures in query order, plus the solve time of each query once it has finished.
+    public static final class Batch {
+        public final List<CompletableFuture<SolveResult>> futures;
+        private final long[] nanos, ends;
+        private final long submitted = System.nanoTime();
+
+        Batch(int size) {
+            futures = new ArrayList<>(size);
+            nanos = new long[size];
+            ends = new long[size];
+        }
+
+        // Results in query order, each waited for as the stream reaches it.
+        public Stream<SolveResult> results() {
+            return futures.stream().map(CompletableFuture::join);
+        }
+
+        void finished(int slot, long solveNanos) {
+            nanos[slot] = solveNanos;
+            ends[slot] = System.nanoTime();
+        }
+
+        public Batch join() {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            return this;
+        }
+
+        // Per-query solve latency at percentile `p` (0..100) in nanoseconds; waits for the batch.
+        public long latency(double p) {
+            join();
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+        }
+
+        public double queriesPerSecond() {
+            join();
+            long finished = submitted;
+            for (long end : ends) finished = Math.max(finished, end);
+            return futures.size() / ((finished - submitted) / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d queries, %.0f/s, latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    futures.size(), queriesPerSecond(), latency(50) / 1e6, latency(90) / 1e6, latency(99) / 1e6,
+                    latency(100) / 1e6);
+        }
+    }
+}
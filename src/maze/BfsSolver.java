@@ -0,0 +1,58 @@
+package maze;
+
+import java.util.Arrays;
+
+public class BfsSolver implements MazeSolver {
+    private int[] parent = new int[0];
+    private int[] queue = new int[0];
+    private final int[] neighbors = new int[4];
+
+    @Override
+    public String name() {
+        return "BFS";
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (parent.length != n) {
+            parent = new int[n];
+            queue = new int[n];
+        }
+        Arrays.fill(parent, -1);
+
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        parent[start] = start;
+        int expanded = 0, maxFrontier = 1, relaxations = 0;
+        boolean found = false;
+
+        while (head < tail) {
+            int current = queue[head++];
+            expanded++;
+            listener.onExpand(current, expanded);
+            if (current == end) {
+                found = true;
+                break;
+            }
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                    relaxations++;
+                    listener.onRelax(next);
+                }
+            }
+            maxFrontier = Math.max(maxFrontier, tail - head);
+            listener.onFrontier(tail - head);
+        }
+        return MazeSolver.buildResult(name(), maze, parent, start, end, found, false, expanded, maxFrontier, relaxations);
+    }
+}
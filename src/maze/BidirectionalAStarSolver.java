@@ -0,0 +1,26 @@
+package maze;
+
+public class BidirectionalAStarSolver extends BidirectionalDijkstraSolver {
+    public BidirectionalAStarSolver() {
+        super();
+    }
+
+    public BidirectionalAStarSolver(IndexedPriorityQueue pqF, IndexedPriorityQueue pqB) {
+        super(pqF, pqB);
+    }
+
+    @Override
+    public String name() {
+        return "Bi-A*";
+    }
+
+    @Override
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return AStarSolver.estimate(maze, a, b);
+    }
+
+    @Override
+    protected boolean canStop(double minF, double minB, double best) {
+        return minF >= best || minB >= best;
+    }
+}
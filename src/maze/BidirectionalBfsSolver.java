@@ -0,0 +1,117 @@
+package maze;
+
+import java.util.Arrays;
+
+// BFS from both ends, one whole layer at a time on the side with the smaller frontier.
+// The layer in which the searches first touch is finished before stopping, so the
+// shortest meeting edge of that layer is kept.
+public class BidirectionalBfsSolver implements MazeSolver {
+    private int[] distF = new int[0], distB = new int[0];
+    private int[] parentF = new int[0], parentB = new int[0];
+    private int[] queueF = new int[0], queueB = new int[0];
+    private final int[] neighbors = new int[4];
+
+    @Override
+    public String name() {
+        return "Bi-BFS";
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (distF.length != n) {
+            distF = new int[n];
+            distB = new int[n];
+            parentF = new int[n];
+            parentB = new int[n];
+            queueF = new int[n];
+            queueB = new int[n];
+        }
+        Arrays.fill(distF, -1);
+        Arrays.fill(distB, -1);
+
+        int headF = 0, tailF = 0, headB = 0, tailB = 0;
+        queueF[tailF++] = start;
+        distF[start] = 0;
+        parentF[start] = start;
+        queueB[tailB++] = end;
+        distB[end] = 0;
+        parentB[end] = end;
+
+        int expanded = 0, maxFrontier = 2, relaxations = 0;
+        int best = Integer.MAX_VALUE, meetF = -1, meetB = -1;
+        if (start == end) {
+            best = 0;
+            meetF = meetB = start;
+        }
+
+        while (best == Integer.MAX_VALUE && headF < tailF && headB < tailB) {
+            boolean forward = tailF - headF <= tailB - headB;
+            int[] queue = forward ? queueF : queueB;
+            int[] dist = forward ? distF : distB;
+            int[] other = forward ? distB : distF;
+            int[] parent = forward ? parentF : parentB;
+            int head = forward ? headF : headB;
+            int tail = forward ? tailF : tailB;
+            int layerEnd = tail;
+
+            while (head < layerEnd) {
+                int current = queue[head++];
+                expanded++;
+                listener.onExpand(current, expanded);
+                int count = maze.getValidNeighbors(current, neighbors);
+                for (int i = 0; i < count; i++) {
+                    int next = neighbors[i];
+                    if (other[next] != -1 && dist[current] + 1 + other[next] < best) {
+                        best = dist[current] + 1 + other[next];
+                        meetF = forward ? current : next;
+                        meetB = forward ? next : current;
+                    }
+                    if (dist[next] == -1) {
+                        dist[next] = dist[current] + 1;
+                        parent[next] = current;
+                        queue[tail++] = next;
+                        relaxations++;
+                        listener.onRelax(next);
+                    }
+                }
+                int frontier = forward ? tail - head + tailB - headB : tailF - headF + tail - head;
+                maxFrontier = Math.max(maxFrontier, frontier);
+                listener.onFrontier(frontier);
+            }
+
+            if (forward) { headF = head; tailF = tail; }
+            else { headB = head; tailB = tail; }
+        }
+
+        if (meetF == -1) return new SolveResult(name(), false, new int[0], 0, expanded, maxFrontier, relaxations);
+        return new SolveResult(name(), true, joinPath(parentF, parentB, start, end, meetF, meetB), best, expanded,
+                maxFrontier, relaxations);
+    }
+
+    // start..meetF along forward parents, then meetB..end along backward parents.
+    static int[] joinPath(int[] parentF, int[] parentB, int start, int end, int meetF, int meetB) {
+        int lengthF = 1, lengthB = meetF == meetB ? 0 : 1;
+        for (int c = meetF; c != start; c = parentF[c]) lengthF++;
+        if (meetF != meetB) for (int c = meetB; c != end; c = parentB[c]) lengthB++;
+        int[] path = new int[lengthF + lengthB];
+        int i = lengthF - 1;
+        for (int c = meetF; ; c = parentF[c]) {
+            path[i--] = c;
+            if (c == start) break;
+        }
+        if (meetF != meetB) {
+            i = lengthF;
+            for (int c = meetB; ; c = parentB[c]) {
+                path[i++] = c;
+                if (c == end) break;
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,106 @@
+package maze;
+
+import java.util.Arrays;
+
+// Dijkstra from both ends. The backward search walks edges in reverse, so stepping from
+// `v` back to `u` costs terrainCost(v), the price of entering `v` on the forward route.
+// Every relaxation that reaches a cell settled from the other side offers a candidate
+// route; the search stops once the two queue minimums can no longer beat the best one.
+public class BidirectionalDijkstraSolver implements MazeSolver {
+    private final IndexedPriorityQueue pqF, pqB;
+    private double[] gF = new double[0], gB = new double[0];
+    private int[] parentF = new int[0], parentB = new int[0];
+    private final int[] neighbors = new int[4];
+
+    public BidirectionalDijkstraSolver() {
+        this(new IndexedMinHeap(), new IndexedMinHeap());
+    }
+
+    public BidirectionalDijkstraSolver(IndexedPriorityQueue pqF, IndexedPriorityQueue pqB) {
+        this.pqF = pqF;
+        this.pqB = pqB;
+    }
+
+    @Override
+    public String name() {
+        return "Bi-Dijkstra";
+    }
+
+    // Lower bound on the cost between `a` and `b`; 0 turns the search into plain Dijkstra.
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return 0;
+    }
+
+    // Dijkstra keys are exact distances, so the sum of both minimums bounds any unseen
+    // route. With a heuristic the keys are estimates, and one side alone must exceed it.
+    protected boolean canStop(double minF, double minB, double best) {
+        return minF + minB >= best;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (gF.length != n) {
+            gF = new double[n];
+            gB = new double[n];
+            parentF = new int[n];
+            parentB = new int[n];
+        }
+        Arrays.fill(gF, Double.POSITIVE_INFINITY);
+        Arrays.fill(gB, Double.POSITIVE_INFINITY);
+        pqF.reset(n);
+        pqB.reset(n);
+
+        gF[start] = 0;
+        parentF[start] = start;
+        pqF.insertOrUpdate(start, heuristic(maze, start, end));
+        gB[end] = 0;
+        parentB[end] = end;
+        pqB.insertOrUpdate(end, heuristic(maze, end, start));
+
+        double best = start == end ? 0 : Double.POSITIVE_INFINITY;
+        int meetF = start == end ? start : -1, meetB = meetF;
+        int expanded = 0, maxFrontier = 2, relaxations = 0;
+
+        while (!pqF.isEmpty() && !pqB.isEmpty()) {
+            if (canStop(pqF.minPriority(), pqB.minPriority(), best)) break;
+
+            boolean forward = pqF.size() <= pqB.size();
+            IndexedPriorityQueue pq = forward ? pqF : pqB;
+            double[] g = forward ? gF : gB;
+            double[] other = forward ? gB : gF;
+            int[] parent = forward ? parentF : parentB;
+            int target = forward ? end : start;
+
+            int current = pq.poll();
+            expanded++;
+            listener.onExpand(current, g[current]);
+
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                double step = maze.terrainCost(forward ? next : current);
+                double newG = g[current] + step;
+                if (newG < g[next]) {
+                    g[next] = newG;
+                    parent[next] = current;
+                    pq.insertOrUpdate(next, newG + heuristic(maze, next, target));
+                    relaxations++;
+                    listener.onRelax(next);
+                }
+                if (g[current] + step + other[next] < best) {
+                    best = g[current] + step + other[next];
+                    meetF = forward ? current : next;
+                    meetB = forward ? next : current;
+                }
+            }
+            int frontier = pqF.size() + pqB.size();
+            maxFrontier = Math.max(maxFrontier, frontier);
+            listener.onFrontier(frontier);
+        }
+
+        if (meetF == -1) return new SolveResult(name(), false, new int[0], 0, expanded, maxFrontier, relaxations);
+        int[] path = BidirectionalBfsSolver.joinPath(parentF, parentB, start, end, meetF, meetB);
+        return new SolveResult(name(), true, path, MazeSolver.pathCost(maze, path, true), expanded, maxFrontier, relaxations);
+    }
+}
@@ -0,0 +1,284 @@
+package maze;
+
+import java.util.Arrays;
+
+// Layer-synchronous BFS on bitboards. Each row is cut into 64-cell words and one bitboard
+// per direction marks the cells that can step that way, so a frontier word advances all its
+// cells at once: mask it with a direction, shift it into the neighbouring word (or row), and
+// whatever is not yet visited is the next layer. Only words that hold frontier cells are
+// touched, so the long thin frontiers of a maze cost a few words per layer rather than a
+// scan of the grid.
+//
+// A solve keeps no per-cell distances: two more bitboards hold each visited cell's layer
+// mod 3, which tells a neighbour one layer closer apart, since neighbours' distances differ
+// by at most one. The route is then rebuilt in two passes over the cells on some shortest
+// route only. Walking back from the end marks them; a FIFO pass from the start over the
+// marked cells, trying neighbours in getValidNeighbors order, then hands each the parent
+// BfsSolver's queue would have given it. Every parent BfsSolver picks for such a cell is
+// itself on a shortest route, so the two agree on the path as well as the distance. In a
+// perfect maze the marked cells are just the route; in open areas they can be many more.
+public class BitboardBfsSolver implements MazeSolver {
+    public static final int UNREACHABLE = ShortestPathTree.UNREACHABLE;
+
+    // Direction bitboards, rebuilt when the maze or its version changes.
+    private MazeGrid maze;
+    private int version, stride;
+    private long[] up, right, down, left;
+
+    private long[] visited, frontier, next;
+    private long[] layerLow, layerHigh;   // layer mod 3, bit by bit
+    private long[] route;                 // cells on a shortest route, while rebuilding one
+    private int[] active, touched, mark;
+    private int[] queue = new int[64], from = new int[64];
+    private int[] dist = new int[0];
+    private int layer, reached;
+    private int expanded, maxFrontier, relaxations;
+
+    @Override
+    public String name() {
+        return "BFS (bitboard)";
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        prepare(maze);
+        search(start, end, listener, false);
+        if (!isVisited(end)) return new SolveResult(name(), false, new int[0], 0, expanded, maxFrontier, relaxations);
+
+        int[] path = route(start, end);
+        return new SolveResult(name(), true, path, path.length - 1, expanded, maxFrontier, relaxations);
+    }
+
+    // Hop distance from `source` to every cell, UNREACHABLE where there is no route.
+    public int[] distances(MazeGrid maze, int source) {
+        prepare(maze);
+        if (dist.length != maze.size()) dist = new int[maze.size()];
+        search(source, -1, SearchListener.NONE, true);
+        int[] out = new int[maze.size()];
+        for (int cell = 0; cell < out.length; cell++) out[cell] = isVisited(cell) ? dist[cell] : UNREACHABLE;
+        return out;
+    }
+
+    // Whether `b` can be reached from `a`. Never visits cells one by one.
+    public boolean isReachable(MazeGrid maze, int a, int b) {
+        prepare(maze);
+        search(a, b, SearchListener.NONE, false);
+        return isVisited(b);
+    }
+
+    private void prepare(MazeGrid maze) {
+        if (maze == this.maze && maze.version() == version) return;
+        int cols = maze.cols, rows = maze.rows;
+        int words = rows * ((cols + 63) >>> 6);
+        if (up == null || up.length != words) {
+            up = new long[words];
+            right = new long[words];
+            down = new long[words];
+            left = new long[words];
+            visited = new long[words];
+            frontier = new long[words];
+            next = new long[words];
+            layerLow = new long[words];
+            layerHigh = new long[words];
+            route = new long[words];
+            active = new int[words];
+            touched = new int[words];
+            mark = new int[words];
+            layer = 0;
+        } else {
+            Arrays.fill(up, 0);
+            Arrays.fill(right, 0);
+            Arrays.fill(down, 0);
+            Arrays.fill(left, 0);
+        }
+        stride = (cols + 63) >>> 6;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int walls = maze.wallMask(c + r * cols);
+                int word = r * stride + (c >>> 6);
+                long bit = 1L << c;
+                if ((walls & MazeGrid.TOP) == 0 && r > 0) up[word] |= bit;
+                if ((walls & MazeGrid.RIGHT) == 0 && c < cols - 1) right[word] |= bit;
+                if ((walls & MazeGrid.BOTTOM) == 0 && r < rows - 1) down[word] |= bit;
+                if ((walls & MazeGrid.LEFT) == 0 && c > 0) left[word] |= bit;
+            }
+        }
+        this.maze = maze;
+        this.version = maze.version();
+    }
+
+    // Expands whole layers from `start` until one contains `end` (-1 runs to exhaustion);
+    // `reached` is then the last layer's distance. With `record` each visited cell's distance
+    // also goes to dist. Cells are only visited one by one for that or for a listener.
+    private void search(int start, int end, SearchListener listener, boolean record) {
+        int cols = maze.cols, s = stride;
+        boolean cells = record || listener != SearchListener.NONE;
+        Arrays.fill(visited, 0);
+        Arrays.fill(layerLow, 0);
+        Arrays.fill(layerHigh, 0);
+        int w0 = word(start);
+        visited[w0] = frontier[w0] = 1L << (start % cols);
+        active[0] = w0;
+        int count = 1;
+        if (record) dist[start] = 0;
+        expanded = 1;
+        maxFrontier = 1;
+        relaxations = 0;
+        listener.onExpand(start, expanded);
+
+        reached = 0;
+        for (int d = 1; count > 0 && (end < 0 || !isVisited(end)); d++) {
+            layer++;
+            int mod = d % 3;
+            int spread = 0;
+            for (int i = 0; i < count; i++) {
+                int a = active[i];
+                long f = frontier[a];
+                frontier[a] = 0;
+                int col = a % s;
+                long m = f & right[a];
+                spread = touch(a, m << 1, spread);
+                if (col < s - 1) spread = touch(a + 1, m >>> 63, spread);
+                m = f & left[a];
+                spread = touch(a, m >>> 1, spread);
+                if (col > 0) spread = touch(a - 1, m << 63, spread);
+                spread = touch(a + s, f & down[a], spread);
+                spread = touch(a - s, f & up[a], spread);
+            }
+
+            count = 0;
+            int size = 0;
+            for (int j = 0; j < spread; j++) {
+                int t = touched[j];
+                long fresh = next[t] & ~visited[t];
+                next[t] = 0;
+                if (fresh == 0) continue;
+                visited[t] |= fresh;
+                if ((mod & 1) != 0) layerLow[t] |= fresh;
+                if ((mod & 2) != 0) layerHigh[t] |= fresh;
+                frontier[t] = fresh;
+                active[count++] = t;
+                size += Long.bitCount(fresh);
+                if (!cells) continue;
+                int base = t / s * cols + ((t % s) << 6);
+                for (long b = fresh; b != 0; b &= b - 1) {
+                    int cell = base + Long.numberOfTrailingZeros(b);
+                    if (record) dist[cell] = d;
+                    listener.onExpand(cell, ++expanded);
+                }
+            }
+            if (!cells) expanded += size;
+            if (size > 0) reached = d;
+            relaxations += size;
+            maxFrontier = Math.max(maxFrontier, size);
+            listener.onFrontier(size);
+        }
+        // The search can stop with a layer still pending.
+        for (int i = 0; i < count; i++) frontier[active[i]] = 0;
+    }
+
+    // ORs `bits` into word `w` of the next layer, noting the word once per layer.
+    private int touch(int w, long bits, int spread) {
+        if (bits == 0) return spread;
+        next[w] |= bits;
+        if (mark[w] != layer) {
+            mark[w] = layer;
+            touched[spread++] = w;
+        }
+        return spread;
+    }
+
+    // The route BfsSolver returns from `start` to a visited `end`; see the class comment.
+    private int[] route(int start, int end) {
+        int cols = maze.cols;
+        Arrays.fill(route, 0);
+        // Back from the end: a neighbour one layer closer is on a shortest route too.
+        int tail = 0;
+        queue[tail++] = end;
+        setRoute(end);
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head], w = word(v);
+            long bit = 1L << (v % cols);
+            if (v == start) continue;
+            int closer = (layerOf(v) + 2) % 3;
+            if ((up[w] & bit) != 0) tail = onRoute(v - cols, closer, tail);
+            if ((right[w] & bit) != 0) tail = onRoute(v + 1, closer, tail);
+            if ((down[w] & bit) != 0) tail = onRoute(v + cols, closer, tail);
+            if ((left[w] & bit) != 0) tail = onRoute(v - 1, closer, tail);
+        }
+
+        // Forward from the start in BfsSolver's queue order. A cell still marked next to one
+        // being expanded is one layer further out, as the nearer layers are all taken.
+        clearRoute(start);
+        queue[0] = start;
+        tail = 1;
+        int at = -1;
+        for (int head = 0; head < tail && at < 0; head++) {
+            int u = queue[head], w = word(u);
+            long bit = 1L << (u % cols);
+            if ((up[w] & bit) != 0) tail = take(u - cols, head, tail);
+            if ((right[w] & bit) != 0) tail = take(u + 1, head, tail);
+            if ((down[w] & bit) != 0) tail = take(u + cols, head, tail);
+            if ((left[w] & bit) != 0) tail = take(u - 1, head, tail);
+            if (u == end) at = head;
+        }
+
+        int[] path = new int[reached + 1];
+        for (int d = reached; d >= 0; d--) {
+            path[d] = queue[at];
+            at = from[at];
+        }
+        return path;
+    }
+
+    // Queues visited `u` on layer `layer` (mod 3) the first time it is found on a route.
+    private int onRoute(int u, int layer, int tail) {
+        if (!isVisited(u) || layerOf(u) != layer || isRoute(u)) return tail;
+        setRoute(u);
+        if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+        queue[tail] = u;
+        return tail + 1;
+    }
+
+    // Gives marked `c` the parent at queue position `parent`.
+    private int take(int c, int parent, int tail) {
+        if (!isRoute(c)) return tail;
+        clearRoute(c);
+        if (tail == from.length) from = Arrays.copyOf(from, tail * 2);
+        queue[tail] = c;
+        from[tail] = parent;
+        return tail + 1;
+    }
+
+    private int layerOf(int cell) {
+        int w = word(cell);
+        long bit = 1L << (cell % maze.cols);
+        return ((layerLow[w] & bit) != 0 ? 1 : 0) | ((layerHigh[w] & bit) != 0 ? 2 : 0);
+    }
+
+    private boolean isRoute(int cell) {
+        return (route[word(cell)] & 1L << (cell % maze.cols)) != 0;
+    }
+
+    private void setRoute(int cell) {
+        route[word(cell)] |= 1L << (cell % maze.cols);
+    }
+
+    private void clearRoute(int cell) {
+        route[word(cell)] &= ~(1L << (cell % maze.cols));
+    }
+
+    private boolean isVisited(int cell) {
+        return (visited[word(cell)] & 1L << (cell % maze.cols)) != 0;
+    }
+
+    private int word(int cell) {
+        int cols = maze.cols;
+        return cell / cols * stride + ((cell % cols) >>> 6);
+    }
+}
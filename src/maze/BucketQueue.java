@@ -0,0 +1,126 @@
+package maze;
+
+import java.util.Arrays;
+
+// Dial's bucket queue for small integer priorities. Buckets form a ring wide enough
+// to hold the spread between the smallest and largest queued key; with terrain costs
+// of at most 10 the ring stays at 16 buckets. Priorities are truncated to int.
+public class BucketQueue implements IndexedPriorityQueue {
+    private static final int NONE = -1;
+
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private int[] key = new int[0];
+    private boolean[] queued = new boolean[0];
+    private int[] buckets = new int[16];
+    private int mask = 15;
+    private int minKey, maxKey;
+    private int size;
+
+    public BucketQueue() {
+        Arrays.fill(buckets, NONE);
+    }
+
+    @Override
+    public void reset(int capacity) {
+        if (queued.length != capacity) {
+            next = new int[capacity];
+            prev = new int[capacity];
+            key = new int[capacity];
+            queued = new boolean[capacity];
+        } else if (size > 0) {
+            for (int b = 0; b < buckets.length; b++) {
+                for (int i = buckets[b]; i != NONE; i = next[i]) queued[i] = false;
+            }
+        }
+        Arrays.fill(buckets, NONE);
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return queued[index];
+    }
+
+    @Override
+    public void insertOrUpdate(int index, double priority) {
+        int k = (int) priority;
+        if (queued[index]) {
+            if (key[index] == k) return;
+            unlink(index);
+        }
+        if (size == 0) {
+            minKey = k;
+            maxKey = k;
+        } else {
+            if (k < minKey) minKey = k;
+            if (k > maxKey) maxKey = k;
+            if (maxKey - minKey > mask) grow(maxKey - minKey + 1);
+        }
+        key[index] = k;
+        link(index);
+    }
+
+    @Override
+    public int poll() {
+        while (buckets[minKey & mask] == NONE) minKey++;
+        int index = buckets[minKey & mask];
+        unlink(index);
+        return index;
+    }
+
+    @Override
+    public double minPriority() {
+        while (buckets[minKey & mask] == NONE) minKey++;
+        return minKey;
+    }
+
+    private void link(int index) {
+        int b = key[index] & mask;
+        int head = buckets[b];
+        next[index] = head;
+        prev[index] = NONE;
+        if (head != NONE) prev[head] = index;
+        buckets[b] = index;
+        queued[index] = true;
+        size++;
+    }
+
+    private void unlink(int index) {
+        int n = next[index], p = prev[index];
+        if (p != NONE) next[p] = n;
+        else buckets[key[index] & mask] = n;
+        if (n != NONE) prev[n] = p;
+        queued[index] = false;
+        size--;
+    }
+
+    private void grow(int span) {
+        int[] old = buckets;
+        int oldMask = mask;
+        int capacity = Integer.highestOneBit(span - 1) << 1;
+        buckets = new int[capacity];
+        Arrays.fill(buckets, NONE);
+        mask = capacity - 1;
+        int count = size;
+        for (int b = 0; b <= oldMask; b++) {
+            int i = old[b];
+            while (i != NONE) {
+                int n = next[i];
+                link(i);
+                i = n;
+            }
+        }
+        size = count;
+    }
+}
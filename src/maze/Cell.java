@@ -0,0 +1,74 @@
+package maze;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+// Rendering view over one cell of a MazeGrid; walls and terrain live in the grid.
+public class Cell {
+    final MazeGrid grid;
+    final int index;
+    int col, row;
+    int size;
+
+    private static final Color WALL_COLOR = new Color(0, 0, 0);
+    private static final BasicStroke WALL_STROKE = new BasicStroke(3);
+    private static final Color DEFAULT_COLOR = new Color(105, 105, 105); // Default Terrace (Dim Gray)
+    private static final Color GRASS_COLOR = new Color(60, 179, 113);    // Grass (Medium Sea Green)
+    private static final Color MUD_COLOR = new Color(205, 133, 63);      // Mud (Peru Brown)
+    private static final Color WATER_COLOR = new Color(70, 130, 180);    // Water (Steel Blue)
+
+    public Cell(MazeGrid grid, int index, int size) {
+        this.grid = grid;
+        this.index = index;
+        this.col = grid.col(index);
+        this.row = grid.row(index);
+        this.size = size;
+    }
+
+    // 0=Default, 1=Grass, 5=Mud, 10=Water
+    public int terrainCost() {
+        return grid.terrainCost(index);
+    }
+
+    public void drawTerrain(Graphics2D g2d) {
+        drawTerrain(g2d, grid, index, size);
+    }
+
+    public static void drawTerrain(Graphics2D g2d, MazeGrid grid, int index, int size) {
+        g2d.setColor(terrainColor(grid.terrainCost(index)));
+        g2d.fillRect(grid.col(index) * size, grid.row(index) * size, size, size);
+    }
+
+    public static Color terrainColor(int terrainCost) {
+        if (terrainCost == 0) return DEFAULT_COLOR;
+        if (terrainCost == 1) return GRASS_COLOR;
+        if (terrainCost == 5) return MUD_COLOR;
+        return WATER_COLOR;
+    }
+
+    public void drawWalls(Graphics2D g2d) {
+        drawWalls(g2d, grid, index, size, WALL_STROKE);
+    }
+
+    // Wall width for tiles of `size` pixels: 3px at the default 25px tiles, never under 1px.
+    public static BasicStroke wallStroke(int size) {
+        return size >= 25 ? WALL_STROKE : new BasicStroke(Math.max(1, Math.round(size * 3 / 25f)));
+    }
+
+    public static void drawWalls(Graphics2D g2d, MazeGrid grid, int index, int size, BasicStroke stroke) {
+        int x = grid.col(index) * size;
+        int y = grid.row(index) * size;
+        g2d.setColor(WALL_COLOR);
+        g2d.setStroke(stroke);
+
+        if (grid.hasWall(index, 0)) g2d.drawLine(x, y, x + size, y);
+        if (grid.hasWall(index, 1)) g2d.drawLine(x + size, y, x + size, y + size);
+        if (grid.hasWall(index, 2)) g2d.drawLine(x + size, y + size, x, y + size);
+        if (grid.hasWall(index, 3)) g2d.drawLine(x, y + size, x, y);
+    }
+
+    public static void removeWalls(Cell a, Cell b) {
+        a.grid.removeWalls(a.index, b.index);
+    }
+}
@@ -0,0 +1,213 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Abstract graph for HPA*. The grid is cut into size x size clusters. Every open wall
+// between two clusters is an entrance, with a node on each side, so any route that leaves
+// a cluster does so through nodes and a search over the nodes stays exact. Within each
+// cluster the cheapest cluster-local cost between every ordered pair of its nodes is
+// precomputed; the cost of crossing an entrance is the terrain of the cell entered.
+//
+// Edits mark the clusters they touch dirty (both sides of a wall on a cluster border) and
+// refresh() recomputes only those.
+public class ClusterGraph implements MazeEditListener {
+    static final int INF = Integer.MAX_VALUE;
+
+    final MazeGrid maze;
+    final int size, clusterCols, clusterRows;
+    final int[] slot;          // cell -> index among its cluster's entrances, or -1
+    final int[][] entrances;   // cluster -> entrance cells
+    final int[][] costs;       // cluster -> m x m local costs, from-major; INF if unreachable
+    private final BitSet dirty = new BitSet();
+
+    // Scratch for cluster-local Dijkstra, indexed by (col - x0) + (row - y0) * size.
+    private final IndexedMinHeap pq = new IndexedMinHeap();
+    private final int[] dist, parent;
+    private final int[] neighbors = new int[4];
+    private int x0, y0, w, h;
+
+    public ClusterGraph(MazeGrid maze, int size) {
+        this.maze = maze;
+        this.size = size;
+        this.clusterCols = (maze.cols + size - 1) / size;
+        this.clusterRows = (maze.rows + size - 1) / size;
+        int clusters = clusterCols * clusterRows;
+        slot = new int[maze.size()];
+        Arrays.fill(slot, -1);
+        entrances = new int[clusters][];
+        costs = new int[clusters][];
+        dist = new int[size * size];
+        parent = new int[size * size];
+        pq.reset(size * size);
+        for (int k = 0; k < clusters; k++) build(k);
+        maze.addEditListener(this);
+    }
+
+    // Same tables as `shared`, with scratch of its own so both can search at once. It does
+    // not follow edits, so `shared` must be over a maze that never changes.
+    private ClusterGraph(ClusterGraph shared) {
+        maze = shared.maze;
+        size = shared.size;
+        clusterCols = shared.clusterCols;
+        clusterRows = shared.clusterRows;
+        slot = shared.slot;
+        entrances = shared.entrances;
+        costs = shared.costs;
+        dist = new int[size * size];
+        parent = new int[size * size];
+        pq.reset(size * size);
+    }
+
+    // A copy for another thread's searches over a snapshot; see the constructor above.
+    public ClusterGraph share() {
+        return new ClusterGraph(this);
+    }
+
+    public void close() {
+        maze.removeEditListener(this);
+    }
+
+    public int clusterCount() {
+        return entrances.length;
+    }
+
+    public int nodeCount() {
+        int nodes = 0;
+        for (int[] e : entrances) nodes += e.length;
+        return nodes;
+    }
+
+    int cluster(int cell) {
+        return maze.col(cell) / size + maze.row(cell) / size * clusterCols;
+    }
+
+    // Rebuilds the clusters edited since the last call; returns how many there were.
+    public int refresh() {
+        int count = 0;
+        for (int k = nextDirty(-1); k >= 0; k = nextDirty(k)) {
+            build(k);
+            count++;
+        }
+        return count;
+    }
+
+    private synchronized int nextDirty(int after) {
+        int k = dirty.nextSetBit(after + 1);
+        if (k >= 0) dirty.clear(k);
+        return k;
+    }
+
+    private synchronized void markDirty(int cell) {
+        dirty.set(cluster(cell));
+    }
+
+    @Override
+    public void wallChanged(int a, int b, boolean open) {
+        markDirty(a);
+        markDirty(b);
+    }
+
+    @Override
+    public void terrainChanged(int index, int oldCost, int newCost) {
+        markDirty(index);
+    }
+
+    private void build(int k) {
+        if (entrances[k] != null) for (int cell : entrances[k]) slot[cell] = -1;
+        bounds(k);
+        int[] found = new int[2 * (w + h)];
+        int m = 0;
+        for (int r = y0; r < y0 + h; r++) {
+            for (int c = x0; c < x0 + w; c++) {
+                if (r != y0 && r != y0 + h - 1 && c != x0 && c != x0 + w - 1) continue;
+                int cell = maze.getIndex(c, r);
+                for (int dir = 0; dir < 4; dir++) {
+                    int next = maze.neighbor(cell, dir);
+                    if (next != -1 && !maze.hasWall(cell, dir) && !inside(next)) {
+                        slot[cell] = m;
+                        found[m++] = cell;
+                        break;
+                    }
+                }
+            }
+        }
+        int[] cells = Arrays.copyOf(found, m);
+        int[] matrix = new int[m * m];
+        for (int i = 0; i < m; i++) {
+            search(cells[i], -1);
+            for (int j = 0; j < m; j++) matrix[i * m + j] = distance(cells[j]);
+        }
+        entrances[k] = cells;
+        costs[k] = matrix;
+    }
+
+    private void bounds(int k) {
+        x0 = k % clusterCols * size;
+        y0 = k / clusterCols * size;
+        w = Math.min(size, maze.cols - x0);
+        h = Math.min(size, maze.rows - y0);
+    }
+
+    private boolean inside(int cell) {
+        int c = maze.col(cell) - x0, r = maze.row(cell) - y0;
+        return c >= 0 && r >= 0 && c < w && r < h;
+    }
+
+    private int local(int cell) {
+        return maze.col(cell) - x0 + (maze.row(cell) - y0) * size;
+    }
+
+    // Dijkstra from `source` that never leaves its cluster, stopping early once `target` is
+    // settled (-1 runs to exhaustion). Results are read through distance() and localPath()
+    // until the next search. Returns the number of cells expanded.
+    int search(int source, int target) {
+        bounds(cluster(source));
+        Arrays.fill(dist, INF);
+        pq.reset(size * size);
+        int s = local(source);
+        dist[s] = 0;
+        parent[s] = s;
+        pq.insertOrUpdate(s, 0);
+        int expanded = 0;
+        while (!pq.isEmpty()) {
+            int u = pq.poll();
+            expanded++;
+            int cell = maze.getIndex(x0 + u % size, y0 + u / size);
+            if (cell == target) break;
+            int count = maze.getValidNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                if (!inside(neighbors[i])) continue;
+                int v = local(neighbors[i]);
+                int d = dist[u] + maze.terrainCost(neighbors[i]);
+                if (d < dist[v]) {
+                    dist[v] = d;
+                    parent[v] = u;
+                    pq.insertOrUpdate(v, d);
+                }
+            }
+        }
+        return expanded;
+    }
+
+    // Cost of the last search's route to `cell`, INF if unreached or outside the cluster.
+    int distance(int cell) {
+        return inside(cell) ? dist[local(cell)] : INF;
+    }
+
+    // Steps on the last search's route to `cell`.
+    int steps(int cell) {
+        int steps = 0;
+        for (int u = local(cell); parent[u] != u; u = parent[u]) steps++;
+        return steps;
+    }
+
+    // Cells of the last search's route to `cell`, excluding the source, written to `out`
+    // from position `at`. Returns the new end position.
+    int localPath(int cell, int[] out, int at) {
+        int steps = steps(cell);
+        int i = at + steps;
+        for (int u = local(cell); parent[u] != u; u = parent[u]) out[--i] = maze.getIndex(x0 + u % size, y0 + u / size);
+        return at + steps;
+    }
+}
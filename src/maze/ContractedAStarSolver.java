@@ -0,0 +1,21 @@
+package maze;
+
+public class ContractedAStarSolver extends ContractedDijkstraSolver {
+    public ContractedAStarSolver() {
+        super();
+    }
+
+    public ContractedAStarSolver(IndexedPriorityQueue pq) {
+        super(pq);
+    }
+
+    @Override
+    public String name() {
+        return "A* (contracted)";
+    }
+
+    @Override
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return AStarSolver.estimate(maze, a, b);
+    }
+}
@@ -0,0 +1,191 @@
+package maze;
+
+import java.util.Arrays;
+
+// Dijkstra over the CorridorGraph, so a whole corridor costs one relaxation instead of
+// one expansion per cell. Routes into or out of a dead-end branch are forced and simply
+// walked; only the core between the two branch roots is searched. A core cell inside a
+// corridor is attached as a virtual node wired to both ends of its chain. The graph is
+// rebuilt whenever the maze changes.
+public class ContractedDijkstraSolver implements MazeSolver {
+    // Parent links that are not real graph edges.
+    private static final int VIA_START_TO_FROM = -2, VIA_START_TO_TO = -3;
+    private static final int VIA_FROM_TO_END = -4, VIA_TO_TO_END = -5, VIA_START_TO_END = -6;
+
+    private final IndexedPriorityQueue pq;
+    private CorridorGraph graph;
+    private double[] g = new double[0];
+    private int[] parent = new int[0];
+    private int[] via = new int[0];
+    private int expanded;
+
+    public ContractedDijkstraSolver() {
+        this(new IndexedMinHeap());
+    }
+
+    public ContractedDijkstraSolver(IndexedPriorityQueue pq) {
+        this.pq = pq;
+    }
+
+    @Override
+    public String name() {
+        return "Dijkstra (contracted)";
+    }
+
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return 0;
+    }
+
+    public CorridorGraph graph(MazeGrid maze) {
+        if (graph == null || graph.maze != maze || !graph.isCurrent()) graph = new CorridorGraph(maze);
+        return graph;
+    }
+
+    public void setGraph(CorridorGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        CorridorGraph cg = graph(maze);
+        int rs = cg.root[start], re = cg.root[end];
+        expanded = 0;
+        if (rs == re) {
+            int[] path = treePath(cg, start, end);
+            return new SolveResult(name(), true, path, MazeSolver.pathCost(maze, path, true), 0);
+        }
+        // A pruned root is the top of a tree with no core, i.e. a separate component.
+        int[] core = cg.pruned[rs] || cg.pruned[re] ? null : searchCore(maze, cg, rs, re, listener);
+        if (core == null) return new SolveResult(name(), false, new int[0], 0, expanded);
+
+        int up = cg.depth[start], down = cg.depth[end];
+        int[] path = new int[up + core.length + down];
+        int i = 0;
+        for (int c = start; c != rs; c = cg.toward[c]) path[i++] = c;
+        System.arraycopy(core, 0, path, i, core.length);
+        i = path.length - 1;
+        for (int c = end; c != re; c = cg.toward[c]) path[i--] = c;
+        return new SolveResult(name(), true, path, MazeSolver.pathCost(maze, path, true), expanded);
+    }
+
+    // Unique route between two cells of the same dead-end tree, through their lowest common ancestor.
+    private static int[] treePath(CorridorGraph cg, int start, int end) {
+        int a = start, b = end;
+        int upA = 0, upB = 0;
+        while (cg.depth[a] > cg.depth[b]) { a = cg.toward[a]; upA++; }
+        while (cg.depth[b] > cg.depth[a]) { b = cg.toward[b]; upB++; }
+        while (a != b) { a = cg.toward[a]; b = cg.toward[b]; upA++; upB++; }
+        int[] path = new int[upA + upB + 1];
+        int c = start;
+        for (int i = 0; i <= upA; i++, c = cg.toward[c]) path[i] = c;
+        c = end;
+        for (int i = path.length - 1; i > upA; i--, c = cg.toward[c]) path[i] = c;
+        return path;
+    }
+
+    private int[] searchCore(MazeGrid maze, CorridorGraph cg, int start, int end, SearchListener listener) {
+        int nodes = cg.nodeCount;
+        int source = cg.nodeOf[start] != -1 ? cg.nodeOf[start] : nodes;
+        int target = cg.nodeOf[end] != -1 ? cg.nodeOf[end] : nodes + 1;
+        int capacity = nodes + 2;
+        if (g.length != capacity) {
+            g = new double[capacity];
+            parent = new int[capacity];
+            via = new int[capacity];
+        }
+        Arrays.fill(g, Double.POSITIVE_INFINITY);
+        pq.reset(capacity);
+
+        int cs = source == nodes ? cg.chainOf[start] : -1, ps = cs == -1 ? 0 : cg.chainPos[start];
+        int ce = target == nodes + 1 ? cg.chainOf[end] : -1, pe = ce == -1 ? 0 : cg.chainPos[end];
+
+        g[source] = 0;
+        parent[source] = -1;
+        pq.insertOrUpdate(source, heuristic(maze, start, end));
+        boolean found = false;
+
+        while (!pq.isEmpty()) {
+            int x = pq.poll();
+            int cell = cellOf(cg, x, start, end);
+            expanded++;
+            listener.onExpand(cell, g[x]);
+            if (x == target) {
+                found = true;
+                break;
+            }
+
+            if (x == nodes) {
+                int from = cg.chainFrom[cs], to = cg.chainTo[cs];
+                int length = cg.chainLength[cs];
+                relax(maze, cg, x, from, cg.chainSum(cs, 0, ps) + maze.terrainCost(cg.nodeCell[from]), VIA_START_TO_FROM, start, end);
+                relax(maze, cg, x, to, cg.chainSum(cs, ps + 1, length) + maze.terrainCost(cg.nodeCell[to]), VIA_START_TO_TO, start, end);
+                if (ce == cs) {
+                    long cost = pe > ps ? cg.chainSum(cs, ps + 1, pe + 1) : cg.chainSum(cs, pe, ps);
+                    relax(maze, cg, x, target, cost, VIA_START_TO_END, start, end);
+                }
+            } else {
+                for (int k = 0; k < cg.degree[x]; k++) {
+                    int slot = x * 4 + k;
+                    relax(maze, cg, x, cg.edgeTo[slot], cg.edgeCost[slot], slot, start, end);
+                }
+                if (ce != -1) {
+                    if (cg.chainFrom[ce] == x) relax(maze, cg, x, target, cg.chainSum(ce, 0, pe + 1), VIA_FROM_TO_END, start, end);
+                    if (cg.chainTo[ce] == x) relax(maze, cg, x, target, cg.chainSum(ce, pe, cg.chainLength[ce]), VIA_TO_TO_END, start, end);
+                }
+            }
+        }
+
+        return found ? expandPath(cg, source, target, start, end, cs, ps, ce, pe) : null;
+    }
+
+    private void relax(MazeGrid maze, CorridorGraph cg, int x, int next, long cost, int how, int start, int end) {
+        double newG = g[x] + cost;
+        if (newG < g[next]) {
+            g[next] = newG;
+            parent[next] = x;
+            via[next] = how;
+            pq.insertOrUpdate(next, newG + heuristic(maze, cellOf(cg, next, start, end), end));
+        }
+    }
+
+    private static int cellOf(CorridorGraph cg, int node, int start, int end) {
+        if (node == cg.nodeCount) return start;
+        if (node == cg.nodeCount + 1) return end;
+        return cg.nodeCell[node];
+    }
+
+    // Rebuilds the cell path from target back to source, then reverses it.
+    private int[] expandPath(CorridorGraph cg, int source, int target, int start, int end, int cs, int ps, int ce, int pe) {
+        int[] out = new int[16];
+        int size = 0;
+        for (int x = target; x != source; x = parent[x]) {
+            int first, last, step, chain;
+            int how = via[x];
+            if (how >= 0) {
+                int ref = cg.edgeChain[how];
+                chain = Math.abs(ref) - 1;
+                int length = chain == -1 ? 0 : cg.chainLength[chain];
+                if (ref > 0) { first = length - 1; last = 0; step = -1; }
+                else { first = 0; last = length - 1; step = 1; }
+                if (length == 0) { first = 0; last = -1; step = 1; }
+            } else if (how == VIA_START_TO_FROM) { chain = cs; first = 0; last = ps - 1; step = 1; }
+            else if (how == VIA_START_TO_TO) { chain = cs; first = cg.chainLength[cs] - 1; last = ps + 1; step = -1; }
+            else if (how == VIA_FROM_TO_END) { chain = ce; first = pe - 1; last = 0; step = -1; }
+            else if (how == VIA_TO_TO_END) { chain = ce; first = pe + 1; last = cg.chainLength[ce] - 1; step = 1; }
+            else if (pe > ps) { chain = cs; first = pe - 1; last = ps + 1; step = -1; }
+            else { chain = cs; first = pe + 1; last = ps - 1; step = 1; }
+
+            int count = step > 0 ? last - first + 1 : first - last + 1;
+            if (size + count + 2 > out.length) out = Arrays.copyOf(out, Math.max(out.length * 2, size + count + 2));
+            out[size++] = cellOf(cg, x, start, end);
+            if (count > 0) {
+                int base = cg.chainStart[chain];
+                for (int i = first; i != last + step; i += step) out[size++] = cg.chainCells[base + i];
+            }
+        }
+        out[size++] = start;
+        int[] path = new int[size];
+        for (int i = 0; i < size; i++) path[i] = out[size - 1 - i];
+        return path;
+    }
+}
@@ -0,0 +1,268 @@
+package maze;
+
+import java.util.Arrays;
+
+// Maze graph reduced in two steps. First, dead-end branches are peeled off repeatedly:
+// they form trees hanging off the remaining "core", and a route into or out of one is
+// forced, so queries only walk them. Then every chain of degree-2 core cells is contracted
+// into one weighted edge. Core junctions become nodes, plus one cell of any corridor that
+// closes on itself. A chain stores its interior cells in order from node `chainFrom` to
+// node `chainTo`, with prefix sums of their terrain costs, so any stretch of it can be
+// priced in O(1).
+public class CorridorGraph {
+    final MazeGrid maze;
+    final int version;
+
+    final boolean[] pruned;    // cell lies on a peeled dead-end branch
+    final int[] toward;        // pruned cell -> next cell toward the core, -1 at the top of a tree with no core
+    final int[] root;          // cell -> core cell its branch hangs from (itself for core cells)
+    final int[] depth;         // steps from the cell up to root
+
+    final int nodeCount;
+    final int[] nodeOf;        // cell -> node id, or -1 for corridor cells
+    final int[] nodeCell;      // node id -> cell
+
+    // Up to four outgoing edges per node, in slots node * 4 + k.
+    final int[] degree;
+    final int[] edgeTo;
+    final int[] edgeCost;      // interior terrain + terrain of the target cell
+    final int[] edgeChain;     // chain id + 1, negated when walked from chainTo to chainFrom, 0 if none
+
+    final int[] chainOf;       // corridor cell -> chain id
+    final int[] chainPos;      // corridor cell -> position inside its chain
+    final int[] chainStart;    // chain id -> offset into chainCells / chainPrefix
+    final int[] chainLength;
+    final int[] chainFrom, chainTo;
+    final int[] chainCells;
+    final long[] chainPrefix;  // chainPrefix[chainStart[c] + c + i] = terrain of the first i interior cells
+
+    public CorridorGraph(MazeGrid maze) {
+        this.maze = maze;
+        this.version = maze.version();
+        int n = maze.size();
+        int[] nb = new int[4];
+
+        pruned = new boolean[n];
+        toward = new int[n];
+        root = new int[n];
+        depth = new int[n];
+        peelDeadEnds();
+
+        nodeOf = new int[n];
+        chainOf = new int[n];
+        chainPos = new int[n];
+        Arrays.fill(nodeOf, -1);
+        Arrays.fill(chainOf, -1);
+
+        int nodes = 0;
+        for (int i = 0; i < n; i++) {
+            if (!pruned[i] && coreNeighbors(i, nb) != 2) nodeOf[i] = nodes++;
+        }
+        int[] cells = new int[Math.max(16, nodes)];
+        for (int i = 0; i < n; i++) if (nodeOf[i] != -1) cells[nodeOf[i]] = i;
+
+        int[] to = new int[cells.length * 4];
+        int[] cost = new int[to.length];
+        int[] chainRef = new int[to.length];
+        int[] deg = new int[cells.length];
+        ChainBuilder chains = new ChainBuilder(n);
+
+        int walked = 0, scan = 0;
+        while (true) {
+            for (; walked < nodes; walked++) {
+                int from = cells[walked];
+                int count = coreNeighbors(from, nb);
+                for (int k = 0; k < count; k++) {
+                    int slot = walked * 4 + deg[walked]++;
+                    walk(from, nb[k], chains, slot, to, cost, chainRef);
+                }
+            }
+            // Corridors that loop back on themselves never reach a node; promote one cell.
+            while (scan < n && (pruned[scan] || nodeOf[scan] != -1 || chainOf[scan] != -1)) scan++;
+            if (scan == n) break;
+            int orphan = scan;
+            if (nodes == cells.length) {
+                cells = Arrays.copyOf(cells, nodes * 2);
+                deg = Arrays.copyOf(deg, nodes * 2);
+                to = Arrays.copyOf(to, nodes * 8);
+                cost = Arrays.copyOf(cost, nodes * 8);
+                chainRef = Arrays.copyOf(chainRef, nodes * 8);
+            }
+            nodeOf[orphan] = nodes;
+            cells[nodes++] = orphan;
+        }
+
+        nodeCount = nodes;
+        nodeCell = Arrays.copyOf(cells, nodes);
+        degree = Arrays.copyOf(deg, nodes);
+        edgeTo = Arrays.copyOf(to, nodes * 4);
+        edgeCost = Arrays.copyOf(cost, nodes * 4);
+        edgeChain = Arrays.copyOf(chainRef, nodes * 4);
+
+        chainStart = chains.starts();
+        chainLength = chains.lengths();
+        chainFrom = chains.froms();
+        chainTo = chains.tos();
+        chainCells = chains.cells();
+        chainPrefix = chains.prefix(maze);
+    }
+
+    // Repeatedly strips cells with at most one remaining neighbor. Cells are peeled before
+    // the cell they lead to, so walking the peel order backwards fills in root and depth.
+    private void peelDeadEnds() {
+        int n = maze.size();
+        int[] nb = new int[4];
+        int[] remaining = new int[n];
+        int[] order = new int[n];
+        int head = 0, tail = 0;
+        for (int i = 0; i < n; i++) {
+            remaining[i] = maze.getValidNeighbors(i, nb);
+            if (remaining[i] <= 1) {
+                pruned[i] = true;
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int cell = order[head++];
+            remaining[cell] = -1;
+            toward[cell] = -1;
+            int count = maze.getValidNeighbors(cell, nb);
+            for (int k = 0; k < count; k++) {
+                int next = nb[k];
+                if (remaining[next] < 0) continue;
+                toward[cell] = next;
+                if (--remaining[next] <= 1 && !pruned[next]) {
+                    pruned[next] = true;
+                    order[tail++] = next;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!pruned[i]) root[i] = i;
+        }
+        for (int i = tail - 1; i >= 0; i--) {
+            int cell = order[i];
+            int up = toward[cell];
+            if (up == -1) {
+                root[cell] = cell;
+                depth[cell] = 0;
+            } else {
+                root[cell] = root[up];
+                depth[cell] = depth[up] + 1;
+            }
+        }
+    }
+
+    private int coreNeighbors(int cell, int[] out) {
+        int count = maze.getValidNeighbors(cell, out);
+        int kept = 0;
+        for (int k = 0; k < count; k++) {
+            if (!pruned[out[k]]) out[kept++] = out[k];
+        }
+        return kept;
+    }
+
+    public boolean isCurrent() {
+        return version == maze.version();
+    }
+
+    // Follows the corridor leaving `from` through `first` until it reaches a node. The first
+    // walk down a corridor records it as a chain; the walk from the other end reuses it reversed.
+    private void walk(int from, int first, ChainBuilder chains, int slot, int[] to, int[] cost, int[] chainRef) {
+        int[] nb = new int[4];
+        int chain = -1;
+        boolean known = false;
+        if (nodeOf[first] == -1) {
+            known = chainOf[first] != -1;
+            chain = known ? chainOf[first] : chains.begin(nodeOf[from]);
+        }
+
+        int prev = from, cur = first;
+        int interior = 0;
+        while (nodeOf[cur] == -1) {
+            interior += maze.terrainCost(cur);
+            if (!known) {
+                chainOf[cur] = chain;
+                chainPos[cur] = chains.add(cur);
+            }
+            coreNeighbors(cur, nb);
+            int next = nb[0] == prev ? nb[1] : nb[0];
+            prev = cur;
+            cur = next;
+        }
+        if (chain != -1 && !known) chains.end(nodeOf[cur]);
+
+        to[slot] = nodeOf[cur];
+        cost[slot] = interior + maze.terrainCost(cur);
+        if (chain == -1) chainRef[slot] = 0;
+        else if (!known) chainRef[slot] = chain + 1;
+        else {
+            // A one-cell chain is entered at position 0 from either end; otherwise
+            // position 0 means we came in from chainFrom.
+            boolean forward = chains.length(chain) == 1 ? chains.from(chain) == nodeOf[from] : chainPos[first] == 0;
+            chainRef[slot] = forward ? chain + 1 : -(chain + 1);
+        }
+    }
+
+    long chainSum(int chain, int fromPos, int toPos) {
+        int base = chainStart[chain] + chain;
+        return chainPrefix[base + toPos] - chainPrefix[base + fromPos];
+    }
+
+    // Growable storage for chains while the graph is being built.
+    private static final class ChainBuilder {
+        private int[] starts = new int[16], lengths = new int[16], froms = new int[16], tos = new int[16];
+        private int[] cells;
+        private int count, size;
+
+        ChainBuilder(int capacity) {
+            cells = new int[Math.max(16, capacity)];
+        }
+
+        int begin(int fromNode) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+                froms = Arrays.copyOf(froms, count * 2);
+                tos = Arrays.copyOf(tos, count * 2);
+            }
+            starts[count] = size;
+            froms[count] = fromNode;
+            return count++;
+        }
+
+        int add(int cell) {
+            cells[size++] = cell;
+            return lengths[count - 1]++;
+        }
+
+        void end(int toNode) {
+            tos[count - 1] = toNode;
+        }
+
+        int from(int chain) {
+            return froms[chain];
+        }
+
+        int length(int chain) {
+            return lengths[chain];
+        }
+
+        int[] starts() { return Arrays.copyOf(starts, count); }
+        int[] lengths() { return Arrays.copyOf(lengths, count); }
+        int[] froms() { return Arrays.copyOf(froms, count); }
+        int[] tos() { return Arrays.copyOf(tos, count); }
+        int[] cells() { return Arrays.copyOf(cells, size); }
+
+        long[] prefix(MazeGrid maze) {
+            long[] prefix = new long[size + count];
+            for (int c = 0; c < count; c++) {
+                int base = starts[c] + c;
+                for (int i = 0; i < lengths[c]; i++) {
+                    prefix[base + i + 1] = prefix[base + i] + maze.terrainCost(cells[starts[c] + i]);
+                }
+            }
+            return prefix;
+        }
+    }
+}
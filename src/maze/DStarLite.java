@@ -0,0 +1,280 @@
+package maze;
+
+import java.util.Arrays;
+
+// Incremental shortest paths (D* Lite, Koenig & Likhachev). The search runs backward from
+// the goal and keeps g/rhs values between calls. Wall and terrain edits reported by the maze
+// only re-queue the cells whose outgoing costs changed, and the next replan() repairs just
+// the part of the tree they affect. An agent can move with moveTo() and replan from its
+// new cell without starting over.
+public class DStarLite implements MazeEditListener {
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final MazeGrid maze;
+    private final int goal;
+    private int start, last;
+    private long km;
+    private int minStep;
+    // Edges weigh terrain * scale + 1: a path has fewer than `scale` steps, so this orders
+    // paths by cost and then by length, and zero-cost terrain still has positive weight.
+    // D* Lite relies on that; zero-weight cycles would keep stale g values alive after an
+    // edit made the cells they lead through dearer.
+    private final long scale;
+
+    private final long[] g, rhs;
+    private final KeyHeap open;
+    private final int[] neighbors = new int[4];
+    private final int[] preds = new int[4];
+    private int expanded;
+    private boolean needsReset;
+
+    public DStarLite(MazeGrid maze, int start, int goal) {
+        this.maze = maze;
+        this.start = start;
+        this.last = start;
+        this.goal = goal;
+        int n = maze.size();
+        scale = n;
+        g = new long[n];
+        rhs = new long[n];
+        open = new KeyHeap(n);
+        reset();
+        maze.addEditListener(this);
+    }
+
+    public void close() {
+        maze.removeEditListener(this);
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int goal() {
+        return goal;
+    }
+
+    // Cells expanded by the last replan().
+    public int expanded() {
+        return expanded;
+    }
+
+    public void moveTo(int cell) {
+        km += heuristic(last, cell);
+        last = cell;
+        start = cell;
+    }
+
+    public SolveResult replan() {
+        return replan(SearchListener.NONE);
+    }
+
+    public SolveResult replan(SearchListener listener) {
+        if (needsReset) reset();
+        expanded = 0;
+        computeShortestPath(listener);
+        return extractPath();
+    }
+
+    @Override
+    public void wallChanged(int a, int b, boolean open) {
+        updateVertex(a);
+        updateVertex(b);
+    }
+
+    @Override
+    public void terrainChanged(int index, int oldCost, int newCost) {
+        // A cheaper step than the heuristic assumed would make it inconsistent.
+        if (newCost < minStep) {
+            needsReset = true;
+            return;
+        }
+        // Entering `index` got dearer or cheaper: its neighbors' outgoing costs changed.
+        int count = maze.getValidNeighbors(index, preds);
+        for (int i = 0; i < count; i++) updateVertex(preds[i]);
+    }
+
+    private void reset() {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.clear();
+        km = 0;
+        last = start;
+        minStep = Integer.MAX_VALUE;
+        for (int i = 0; i < maze.size() && minStep > 0; i++) minStep = Math.min(minStep, maze.terrainCost(i));
+        rhs[goal] = 0;
+        open.insertOrUpdate(goal, heuristic(start, goal), 0);
+        needsReset = false;
+    }
+
+    private long weight(int v) {
+        return maze.terrainCost(v) * scale + 1;
+    }
+
+    private long heuristic(int a, int b) {
+        return (Math.abs(maze.col(a) - maze.col(b)) + Math.abs(maze.row(a) - maze.row(b))) * (minStep * scale + 1);
+    }
+
+    private long key1(int s) {
+        return Math.min(g[s], rhs[s]) + heuristic(start, s) + km;
+    }
+
+    private void updateVertex(int u) {
+        if (needsReset) return;
+        if (u != goal) {
+            long best = INF;
+            int count = maze.getValidNeighbors(u, neighbors);
+            for (int i = 0; i < count; i++) {
+                int s = neighbors[i];
+                if (g[s] < INF) best = Math.min(best, g[s] + weight(s));
+            }
+            rhs[u] = best;
+        }
+        if (g[u] != rhs[u]) open.insertOrUpdate(u, key1(u), Math.min(g[u], rhs[u]));
+        else if (open.contains(u)) open.remove(u);
+    }
+
+    private void computeShortestPath(SearchListener listener) {
+        int[] local = new int[4];
+        while (!open.isEmpty()
+                && (open.less(open.topKey1(), open.topKey2(), key1(start), Math.min(g[start], rhs[start]))
+                    || rhs[start] != g[start])) {
+            int u = open.top();
+            long oldK1 = open.topKey1(), oldK2 = open.topKey2();
+            long newK1 = key1(u), newK2 = Math.min(g[u], rhs[u]);
+            if (open.less(oldK1, oldK2, newK1, newK2)) {
+                open.insertOrUpdate(u, newK1, newK2);
+                continue;
+            }
+            expanded++;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                open.remove(u);
+                listener.onExpand(u, (double) (g[u] / scale));
+                int count = maze.getValidNeighbors(u, local);
+                for (int i = 0; i < count; i++) updateVertex(local[i]);
+            } else {
+                g[u] = INF;
+                listener.onExpand(u, (double) (rhs[u] / scale));
+                int count = maze.getValidNeighbors(u, local);
+                for (int i = 0; i < count; i++) updateVertex(local[i]);
+                updateVertex(u);
+            }
+        }
+    }
+
+    // Every edge weighs at least 1, so stepping to the neighbor that minimizes weight + g
+    // strictly decreases g and reaches the goal.
+    private SolveResult extractPath() {
+        if (g[start] >= INF) return new SolveResult("D* Lite", false, new int[0], 0, expanded);
+        int length = (int) (g[start] % scale) + 1;
+        int[] path = new int[length];
+        path[0] = start;
+        int u = start;
+        for (int i = 1; i < length; i++) {
+            long best = INF;
+            int next = -1;
+            int count = maze.getValidNeighbors(u, neighbors);
+            for (int j = 0; j < count; j++) {
+                int v = neighbors[j];
+                if (g[v] < INF && g[v] + weight(v) < best) {
+                    best = g[v] + weight(v);
+                    next = v;
+                }
+            }
+            path[i] = u = next;
+        }
+        return new SolveResult("D* Lite", true, path, (int) (g[start] / scale), expanded);
+    }
+
+    // Indexed binary heap ordered lexicographically by (key1, key2).
+    private static final class KeyHeap {
+        private final int[] heap, pos;
+        private final long[] k1, k2;
+        private int size;
+
+        KeyHeap(int capacity) {
+            heap = new int[capacity];
+            pos = new int[capacity];
+            k1 = new long[capacity];
+            k2 = new long[capacity];
+            Arrays.fill(pos, -1);
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+            size = 0;
+        }
+
+        boolean isEmpty() { return size == 0; }
+        boolean contains(int s) { return pos[s] != -1; }
+        int top() { return heap[0]; }
+        long topKey1() { return k1[heap[0]]; }
+        long topKey2() { return k2[heap[0]]; }
+
+        boolean less(long a1, long a2, long b1, long b2) {
+            return a1 < b1 || (a1 == b1 && a2 < b2);
+        }
+
+        void insertOrUpdate(int s, long key1, long key2) {
+            if (pos[s] == -1) {
+                k1[s] = key1;
+                k2[s] = key2;
+                heap[size] = s;
+                pos[s] = size;
+                siftUp(size++);
+            } else {
+                k1[s] = key1;
+                k2[s] = key2;
+                siftUp(pos[s]);
+                siftDown(pos[s]);
+            }
+        }
+
+        void remove(int s) {
+            int i = pos[s];
+            pos[s] = -1;
+            int lastIdx = --size;
+            if (i == lastIdx) return;
+            int moved = heap[lastIdx];
+            heap[i] = moved;
+            pos[moved] = i;
+            siftUp(i);
+            siftDown(pos[moved]);
+        }
+
+        private boolean before(int a, int b) {
+            return less(k1[a], k2[a], k1[b], k2[b]);
+        }
+
+        private void siftUp(int i) {
+            int x = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                int p = heap[parent];
+                if (!before(x, p)) break;
+                heap[i] = p;
+                pos[p] = i;
+                i = parent;
+            }
+            heap[i] = x;
+            pos[x] = i;
+        }
+
+        private void siftDown(int i) {
+            int x = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int c = heap[child];
+                if (child + 1 < size && before(heap[child + 1], c)) c = heap[++child];
+                if (!before(c, x)) break;
+                heap[i] = c;
+                pos[c] = i;
+                i = child;
+            }
+            heap[i] = x;
+            pos[x] = i;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package maze;
+
+// MazeSolver front end for DStarLite. The planner is kept while the maze and end cell stay
+// the same, so a query after edits or from a new start only repairs what changed.
+public class DStarLiteSolver implements MazeSolver {
+    private DStarLite planner;
+    private MazeGrid maze;
+
+    @Override
+    public String name() {
+        return "D* Lite";
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        if (planner == null || this.maze != maze || planner.goal() != end) {
+            close();
+            this.maze = maze;
+            planner = new DStarLite(maze, start, end);
+        } else if (planner.start() != start) {
+            planner.moveTo(start);
+        }
+        return planner.replan(listener);
+    }
+
+    // Stops listening to the current maze.
+    public void close() {
+        if (planner != null) planner.close();
+        planner = null;
+        maze = null;
+    }
+}
@@ -0,0 +1,72 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DfsSolver implements MazeSolver {
+    private final Random rand;
+    private int[] parent = new int[0];
+    private int[] stack = new int[0];
+    private final int[] neighbors = new int[4];
+
+    public DfsSolver() {
+        this(new Random());
+    }
+
+    public DfsSolver(Random rand) {
+        this.rand = rand;
+    }
+
+    @Override
+    public String name() {
+        return "DFS";
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (parent.length != n) {
+            parent = new int[n];
+            stack = new int[n];
+        }
+        Arrays.fill(parent, -1);
+
+        int top = 0;
+        stack[top++] = start;
+        parent[start] = start;
+        int expanded = 0, maxFrontier = 1, relaxations = 0;
+        boolean found = false;
+
+        while (top > 0) {
+            int current = stack[--top];
+            expanded++;
+            listener.onExpand(current, expanded);
+            if (current == end) {
+                found = true;
+                break;
+            }
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int i = count - 1; i > 0; i--) {
+                int j = rand.nextInt(i + 1);
+                int t = neighbors[i]; neighbors[i] = neighbors[j]; neighbors[j] = t;
+            }
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    stack[top++] = next;
+                    relaxations++;
+                    listener.onRelax(next);
+                }
+            }
+            maxFrontier = Math.max(maxFrontier, top);
+            listener.onFrontier(top);
+        }
+        return MazeSolver.buildResult(name(), maze, parent, start, end, found, false, expanded, maxFrontier, relaxations);
+    }
+}
@@ -0,0 +1,70 @@
+package maze;
+
+import java.util.Arrays;
+
+public class DijkstraSolver implements MazeSolver {
+    protected final IndexedPriorityQueue pq;
+    protected double[] g = new double[0];
+    protected int[] parent = new int[0];
+    private final int[] neighbors = new int[4];
+
+    public DijkstraSolver() {
+        this(new IndexedMinHeap());
+    }
+
+    public DijkstraSolver(IndexedPriorityQueue pq) {
+        this.pq = pq;
+    }
+
+    @Override
+    public String name() {
+        return "Dijkstra";
+    }
+
+    protected double heuristic(MazeGrid maze, int a, int b) {
+        return 0;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (parent.length != n) {
+            g = new double[n];
+            parent = new int[n];
+        }
+        Arrays.fill(g, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        pq.reset(n);
+
+        g[start] = 0;
+        parent[start] = start;
+        pq.insertOrUpdate(start, heuristic(maze, start, end));
+        int expanded = 0, maxFrontier = 1, relaxations = 0;
+        boolean found = false;
+
+        while (!pq.isEmpty()) {
+            int current = pq.poll();
+            expanded++;
+            listener.onExpand(current, g[current]);
+            if (current == end) {
+                found = true;
+                break;
+            }
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                double newG = g[current] + maze.terrainCost(next);
+                if (newG < g[next]) {
+                    g[next] = newG;
+                    parent[next] = current;
+                    pq.insertOrUpdate(next, newG + heuristic(maze, next, end));
+                    relaxations++;
+                    listener.onRelax(next);
+                }
+            }
+            maxFrontier = Math.max(maxFrontier, pq.size());
+            listener.onFrontier(pq.size());
+        }
+        return MazeSolver.buildResult(name(), maze, parent, start, end, found, true, expanded, maxFrontier, relaxations);
+    }
+}
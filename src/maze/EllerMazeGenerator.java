@@ -0,0 +1,170 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+// Streaming maze generator (Eller's algorithm) that writes an uncompressed MazeFile row by
+// row. Only one row of set labels is kept, so memory is O(cols) whatever the row count and
+// the maze can be far larger than the heap; the file is written through a mapping in order.
+//
+// Each row joins neighboring cells of different sets at random (all of them on the last
+// row) and opens at least one cell of every set downward, which yields a spanning tree.
+// Like MazeGenerator's extra pass, walls between cells already in the same set are opened
+// with LOOP_CHANCE, adding a few cycles. Terrain uses MazeGenerator's distribution and the
+// corner start and end cells are free.
+public class EllerMazeGenerator {
+    private static final double LOOP_CHANCE = 0.15;
+
+    private final SplittableRandom rand;
+    private final long seed;
+
+    public EllerMazeGenerator(long seed) {
+        this.seed = seed;
+        this.rand = new SplittableRandom(seed);
+    }
+
+    public void generate(Path path, int cols, int rows) throws IOException {
+        MazeMetrics.Generation metrics = MazeMetrics.generating("Eller", cols, rows);
+        long cells = (long) cols * rows;
+        MazeFile.Header header = new MazeFile.Header();
+        header.cols = cols;
+        header.rows = rows;
+        header.seed = seed;
+        header.start = 0;
+        header.end = cells - 1;
+        header.bodyLength = MazeFile.bodyBytes(cells);
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer head = ch.map(FileChannel.MapMode.READ_WRITE, 0, MazeFile.HEADER_BYTES);
+            header.write(head);
+            head.force();
+            MappedBytes body = new MappedBytes(ch, FileChannel.MapMode.READ_WRITE, MazeFile.HEADER_BYTES, header.bodyLength);
+            PackedWriter walls = new PackedWriter(body, 0, 4);
+            PackedWriter terrain = new PackedWriter(body, MazeFile.wallBytes(cells), 2);
+
+            // Labels stay below cols: they are renumbered every row and a row has at most
+            // cols sets. uf is a union-find over the current row's labels.
+            int[] set = new int[cols], uf = new int[cols], remap = new int[cols], seen = new int[cols], pick = new int[cols];
+            boolean[] right = new boolean[cols], down = new boolean[cols], up = new boolean[cols], hasDown = new boolean[cols];
+            for (int c = 0; c < cols; c++) set[c] = c;
+
+            for (int r = 0; r < rows; r++) {
+                boolean last = r == rows - 1;
+                for (int l = 0; l < cols; l++) uf[l] = l;
+                for (int c = 0; c < cols - 1; c++) {
+                    int a = find(uf, set[c]), b = find(uf, set[c + 1]);
+                    if (a != b) {
+                        right[c] = last || rand.nextBoolean();
+                        if (right[c]) uf[b] = a;
+                    } else {
+                        right[c] = rand.nextDouble() < LOOP_CHANCE;
+                    }
+                }
+                right[cols - 1] = false;
+
+                if (!last) {
+                    // Random drops, then one forced drop (picked uniformly) for sets without any.
+                    for (int c = 0; c < cols; c++) {
+                        int root = find(uf, set[c]);
+                        down[c] = rand.nextBoolean();
+                        if (down[c]) hasDown[root] = true;
+                        if (rand.nextInt(++seen[root]) == 0) pick[root] = c;
+                    }
+                    for (int c = 0; c < cols; c++) {
+                        int root = find(uf, set[c]);
+                        if (!hasDown[root] && pick[root] == c) down[c] = true;
+                    }
+                } else {
+                    for (int c = 0; c < cols; c++) down[c] = false;
+                }
+
+                for (int c = 0; c < cols; c++) {
+                    int mask = 0;
+                    if (!up[c]) mask |= MazeGrid.TOP;
+                    if (!right[c]) mask |= MazeGrid.RIGHT;
+                    if (!down[c]) mask |= MazeGrid.BOTTOM;
+                    if (c == 0 || !right[c - 1]) mask |= MazeGrid.LEFT;
+                    walls.add(mask);
+                    long index = c + (long) r * cols;
+                    int cost = index == 0 || index == cells - 1 ? 0 : MazeGenerator.terrainFor(rand.nextDouble());
+                    terrain.add(MazeFile.terrainCode(cost));
+                }
+
+                // Carried cells keep their set under a compact label; the rest start new sets.
+                int next = 0;
+                for (int c = 0; c < cols; c++) remap[c] = -1;
+                for (int c = 0; c < cols; c++) {
+                    if (!down[c]) continue;
+                    int root = find(uf, set[c]);
+                    if (remap[root] == -1) remap[root] = next++;
+                }
+                for (int c = 0; c < cols; c++) {
+                    int root = find(uf, set[c]);
+                    hasDown[root] = false;
+                    seen[root] = 0;
+                }
+                for (int c = 0; c < cols; c++) {
+                    set[c] = down[c] ? remap[find(uf, set[c])] : next++;
+                    up[c] = down[c];
+                }
+            }
+            walls.flush();
+            terrain.flush();
+            body.force();
+        }
+        metrics.finish();
+    }
+
+    private static int find(int[] uf, int x) {
+        while (uf[x] != x) {
+            uf[x] = uf[uf[x]];
+            x = uf[x];
+        }
+        return x;
+    }
+
+    // Appends fixed-width values low bits first, buffering whole bytes before each bulk put.
+    private static final class PackedWriter {
+        private final MappedBytes out;
+        private final int bits;
+        private final byte[] buffer = new byte[1 << 16];
+        private long pos;
+        private int filled, current, used;
+
+        PackedWriter(MappedBytes out, long pos, int bits) {
+            this.out = out;
+            this.pos = pos;
+            this.bits = bits;
+        }
+
+        void add(int value) {
+            current |= value << used;
+            used += bits;
+            if (used == 8) {
+                buffer[filled++] = (byte) current;
+                current = 0;
+                used = 0;
+                if (filled == buffer.length) drain();
+            }
+        }
+
+        private void drain() {
+            out.put(pos, buffer, 0, filled);
+            pos += filled;
+            filled = 0;
+        }
+
+        void flush() {
+            if (used > 0) {
+                buffer[filled++] = (byte) current;
+                current = 0;
+                used = 0;
+            }
+            drain();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package maze;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded single-producer/single-consumer queue of search expansions. The solver thread
+// offers (cell, cost) pairs and the EDT drains them in batches; neither side locks. Each
+// side only writes its own counter (lazySet publishes the slots before the counter moves)
+// and keeps a cached copy of the other side's, so it reads the shared one only when the
+// ring looks full or empty.
+public class ExpansionRing {
+    private final int[] cells;
+    private final double[] costs;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to read
+    private final AtomicLong tail = new AtomicLong(); // next slot to write
+    private long cachedHead; // producer's view of head
+    private long cachedTail; // consumer's view of tail
+
+    // `capacity` is rounded up to a power of two.
+    public ExpansionRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        cells = new int[size];
+        costs = new double[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return cells.length;
+    }
+
+    // Producer side. Returns false if the ring is full.
+    public boolean offer(int cell, double cost) {
+        long t = tail.get();
+        if (t - cachedHead == cells.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == cells.length) return false;
+        }
+        int slot = (int) t & mask;
+        cells[slot] = cell;
+        costs[slot] = cost;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer side. Hands at most `max` events to `sink` in order and returns how many.
+    public int drain(int max, SearchListener sink) {
+        long h = head.get();
+        if (h == cachedTail) cachedTail = tail.get();
+        int n = (int) Math.min(max, cachedTail - h);
+        for (int i = 0; i < n; i++) {
+            int slot = (int) (h + i) & mask;
+            sink.onExpand(cells[slot], costs[slot]);
+        }
+        head.lazySet(h + n);
+        return n;
+    }
+
+    // Consumer side.
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
@@ -0,0 +1,173 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Out-of-core BFS and Dijkstra over a LargeMaze. Per-cell state is one byte in a mapped
+// work file: 0 while unsettled, else 1 + the direction back to the parent (START for the
+// source). Terrain costs are small integers, so Dijkstra runs as Dial's algorithm: a ring
+// of maxCost + 1 buckets, one per pending distance, and a cell's distance is the bucket it
+// is settled from, so no distance array is needed. Each bucket buffers entries in memory
+// and spills them to its own file as sorted runs, which keeps the heap at a few MB per
+// bucket and makes the state lookups of a run walk the mapping in index order. Cells may
+// be queued more than once; only their first (cheapest) pop settles them.
+public class ExternalSearch {
+    private static final int START = 5;
+    private static final int BUFFER_ENTRIES = 1 << 19;
+    private static final int[] OPPOSITE = {2, 3, 0, 1};
+
+    public static final class Result {
+        public final boolean found;
+        public final long cost, length, expanded;
+
+        Result(boolean found, long cost, long length, long expanded) {
+            this.found = found;
+            this.cost = cost;
+            this.length = length;
+            this.expanded = expanded;
+        }
+
+        @Override
+        public String toString() {
+            return (found ? "cost=" + cost + " length=" + length : "no path") + " expanded=" + expanded;
+        }
+    }
+
+    private final LargeMaze maze;
+    private final boolean weighted;
+    private final Path workDir;
+    private MappedBytes state;
+
+    public ExternalSearch(LargeMaze maze, boolean weighted, Path workDir) {
+        this.maze = maze;
+        this.weighted = weighted;
+        this.workDir = workDir;
+    }
+
+    public Result solve() throws IOException {
+        return solve(maze.start, maze.end, cell -> {});
+    }
+
+    // `path` receives the cells of the shortest path from `end` back to `start`.
+    public Result solve(long start, long end, LongConsumer path) throws IOException {
+        Path statePath = Files.createTempFile(workDir, "state", ".bin");
+        Bucket[] ring = new Bucket[weighted ? MazeFile.TERRAIN_COSTS[MazeFile.TERRAIN_COSTS.length - 1] + 1 : 2];
+        try (FileChannel ch = FileChannel.open(statePath, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            // A fresh sparse file reads as zeros, so nothing needs clearing.
+            ch.write(ByteBuffer.allocate(1), maze.size() - 1);
+            state = new MappedBytes(ch, FileChannel.MapMode.READ_WRITE, 0, maze.size());
+            for (int i = 0; i < ring.length; i++) ring[i] = new Bucket(workDir);
+
+            long expanded = 0;
+            long pending = 1;
+            ring[0].add(start << 3 | START);
+            for (long d = 0; pending > 0; d++) {
+                Bucket bucket = ring[(int) (d % ring.length)];
+                long[] batch;
+                while ((batch = bucket.take()) != null) {
+                    int n = bucket.taken;
+                    pending -= n;
+                    for (int i = 0; i < n; i++) {
+                        long cell = batch[i] >>> 3;
+                        if (state.get(cell) != 0) continue;
+                        state.put(cell, (byte) (1 + (batch[i] & 7)));
+                        expanded++;
+                        if (cell == end) return new Result(true, d, tracePath(end, path), expanded);
+                        for (int dir = 0; dir < 4; dir++) {
+                            long next = maze.openNeighbor(cell, dir);
+                            if (next == -1 || state.get(next) != 0) continue;
+                            int w = weighted ? maze.terrainCost(next) : 1;
+                            ring[(int) ((d + w) % ring.length)].add(next << 3 | OPPOSITE[dir]);
+                            pending++;
+                        }
+                    }
+                }
+            }
+            return new Result(false, 0, 0, expanded);
+        } finally {
+            for (Bucket b : ring) if (b != null) b.close();
+        }
+    }
+
+    // Follows parent directions from `end` to the source and returns the cell count.
+    private long tracePath(long end, LongConsumer sink) {
+        long length = 0;
+        for (long cell = end; ; cell = maze.openNeighbor(cell, state.get(cell) - 1)) {
+            sink.accept(cell);
+            length++;
+            if (state.get(cell) == START + 1) return length;
+        }
+    }
+
+    // FIFO of entries for one distance: an in-memory buffer plus sorted runs in a spill file.
+    private static final class Bucket {
+        private final FileChannel file;
+        private final ByteBuffer io = ByteBuffer.allocateDirect(BUFFER_ENTRIES * 8).order(ByteOrder.LITTLE_ENDIAN);
+        private long[] buffer = new long[BUFFER_ENTRIES];
+        private long[] out = new long[BUFFER_ENTRIES];
+        private int size;
+        private long readPos, writePos;
+        int taken;
+
+        Bucket(Path dir) throws IOException {
+            Path path = Files.createTempFile(dir, "bucket", ".run");
+            file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        void add(long entry) throws IOException {
+            if (size == buffer.length) spill();
+            buffer[size++] = entry;
+        }
+
+        private void spill() throws IOException {
+            Arrays.sort(buffer, 0, size);
+            io.clear();
+            io.asLongBuffer().put(buffer, 0, size);
+            io.limit(size * 8);
+            while (io.hasRemaining()) writePos += file.write(io, writePos);
+            size = 0;
+        }
+
+        // Next batch of entries (count in `taken`), spilled runs first, or null when empty.
+        // The array is reused by the following call.
+        long[] take() throws IOException {
+            if (readPos < writePos) {
+                io.clear();
+                io.limit((int) Math.min(io.capacity(), writePos - readPos));
+                while (io.hasRemaining()) {
+                    int n = file.read(io, readPos + io.position());
+                    if (n < 0) throw new IOException("spill file truncated");
+                }
+                io.flip();
+                taken = io.remaining() / 8;
+                io.asLongBuffer().get(out, 0, taken);
+                readPos += taken * 8L;
+                if (readPos == writePos) {
+                    readPos = writePos = 0;
+                    file.truncate(0);
+                }
+                return out;
+            }
+            if (size == 0) return null;
+            Arrays.sort(buffer, 0, size);
+            long[] batch = buffer;
+            buffer = out;
+            out = batch;
+            taken = size;
+            size = 0;
+            return batch;
+        }
+
+        void close() throws IOException {
+            file.close();
+        }
+    }
+}
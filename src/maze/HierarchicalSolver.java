@@ -0,0 +1,158 @@
+package maze;
+
+import java.util.Arrays;
+
+// HPA*: A* over the ClusterGraph's entrance nodes, then each abstract step is refined into
+// cells by a search confined to one cluster. Start and end join the abstract graph through
+// a local search in their own cluster each; the end side uses reversed distances, since a
+// route's cost only changes by the terrain of its endpoints when walked backwards. Every
+// entrance is a node, so results are optimal. The graph follows maze edits cluster by
+// cluster and is only rebuilt whole for a different maze.
+public class HierarchicalSolver implements MazeSolver {
+    public static final int DEFAULT_CLUSTER = 16;
+
+    private final int clusterSize;
+    private final IndexedMinHeap pq = new IndexedMinHeap();
+    private ClusterGraph graph;
+    private int[] g = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int query;
+    private int maxFrontier, relaxations;
+    private SearchListener listener = SearchListener.NONE;
+    private int[] startCost = new int[0], endCost = new int[0];
+
+    public HierarchicalSolver() {
+        this(DEFAULT_CLUSTER);
+    }
+
+    public HierarchicalSolver(int clusterSize) {
+        this.clusterSize = clusterSize;
+    }
+
+    @Override
+    public String name() {
+        return "HPA*";
+    }
+
+    public ClusterGraph graph(MazeGrid maze) {
+        if (graph == null || graph.maze != maze) {
+            close();
+            graph = new ClusterGraph(maze, clusterSize);
+        }
+        graph.refresh();
+        return graph;
+    }
+
+    public void setGraph(ClusterGraph graph) {
+        close();
+        this.graph = graph;
+    }
+
+    public void close() {
+        if (graph != null) graph.close();
+        graph = null;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        ClusterGraph cg = graph(maze);
+        this.listener = listener;
+        int n = maze.size();
+        if (stamp.length != n) {
+            g = new int[n];
+            parent = new int[n];
+            stamp = new int[n];
+            query = 0;
+        }
+        query++;
+        int ks = cg.cluster(start), ke = cg.cluster(end);
+        int[] es = cg.entrances[ks], ee = cg.entrances[ke];
+
+        int expanded = cg.search(start, -1);
+        if (startCost.length < es.length) startCost = new int[es.length];
+        for (int j = 0; j < es.length; j++) startCost[j] = cg.distance(es[j]);
+        int direct = cg.distance(end);
+        expanded += cg.search(end, -1);
+        if (endCost.length < ee.length) endCost = new int[ee.length];
+        for (int j = 0; j < ee.length; j++) {
+            int d = cg.distance(ee[j]);
+            endCost[j] = d == ClusterGraph.INF ? d : d + maze.terrainCost(end) - maze.terrainCost(ee[j]);
+        }
+
+        pq.reset(n);
+        relaxations = 0;
+        maxFrontier = 1;
+        relax(maze, start, start, 0, end);
+        boolean found = false;
+        while (!pq.isEmpty()) {
+            int u = pq.poll();
+            expanded++;
+            listener.onExpand(u, g[u]);
+            if (u == end) {
+                found = true;
+                break;
+            }
+            int gu = g[u];
+            if (u == start) {
+                for (int j = 0; j < es.length; j++) relax(maze, u, es[j], startCost[j], end);
+                relax(maze, u, end, direct, end);
+            }
+            int s = cg.slot[u];
+            if (s == -1) continue;
+            int k = cg.cluster(u);
+            if (u != start) {
+                int[] cells = cg.entrances[k], costs = cg.costs[k];
+                int m = cells.length;
+                for (int j = 0; j < m; j++) relax(maze, u, cells[j], add(gu, costs[s * m + j]), end);
+                if (k == ke) relax(maze, u, end, add(gu, endCost[s]), end);
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int next = maze.neighbor(u, dir);
+                if (next != -1 && !maze.hasWall(u, dir) && cg.cluster(next) != k)
+                    relax(maze, u, next, gu + maze.terrainCost(next), end);
+            }
+            maxFrontier = Math.max(maxFrontier, pq.size());
+            listener.onFrontier(pq.size());
+        }
+        if (!found) return new SolveResult(name(), false, new int[0], 0, expanded, maxFrontier, relaxations);
+
+        // Refine: entrance crossings are single steps, everything else a local search.
+        int nodes = 1;
+        for (int c = end; c != start; c = parent[c]) nodes++;
+        int[] route = new int[nodes];
+        for (int i = nodes - 1, c = end; i >= 0; i--, c = parent[c]) route[i] = c;
+        int[] path = new int[Math.max(16, nodes * 2)];
+        path[0] = start;
+        int length = 1;
+        for (int i = 1; i < nodes; i++) {
+            int a = route[i - 1], b = route[i];
+            if (cg.cluster(a) != cg.cluster(b)) {
+                if (length == path.length) path = Arrays.copyOf(path, path.length * 2);
+                path[length++] = b;
+                continue;
+            }
+            expanded += cg.search(a, b);
+            int steps = cg.steps(b);
+            if (length + steps > path.length) path = Arrays.copyOf(path, Math.max(path.length * 2, length + steps));
+            length = cg.localPath(b, path, length);
+        }
+        path = Arrays.copyOf(path, length);
+        return new SolveResult(name(), true, path, MazeSolver.pathCost(maze, path, true), expanded, maxFrontier, relaxations);
+    }
+
+    private void relax(MazeGrid maze, int from, int to, int cost, int end) {
+        if (cost == ClusterGraph.INF) return;
+        if (stamp[to] == query && cost >= g[to]) return;
+        stamp[to] = query;
+        g[to] = cost;
+        parent[to] = from;
+        pq.insertOrUpdate(to, cost + AStarSolver.estimate(maze, to, end));
+        relaxations++;
+        listener.onRelax(to);
+    }
+
+    private static int add(int g, int cost) {
+        return cost == ClusterGraph.INF ? cost : g + cost;
+    }
+}
@@ -0,0 +1,107 @@
+package maze;
+
+// Binary min-heap of cell indices with O(log n) insert, poll and decrease-key.
+public class IndexedMinHeap implements IndexedPriorityQueue {
+    private int[] heap = new int[0];
+    private int[] pos = new int[0];
+    private double[] prio = new double[0];
+    private int size;
+
+    @Override
+    public void reset(int capacity) {
+        if (pos.length != capacity) {
+            heap = new int[capacity];
+            pos = new int[capacity];
+            prio = new double[capacity];
+            java.util.Arrays.fill(pos, -1);
+        } else {
+            for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return pos[index] != -1;
+    }
+
+    @Override
+    public void insertOrUpdate(int index, double priority) {
+        int p = pos[index];
+        if (p == -1) {
+            prio[index] = priority;
+            heap[size] = index;
+            pos[index] = size;
+            siftUp(size++);
+        } else {
+            double old = prio[index];
+            prio[index] = priority;
+            if (priority < old) siftUp(p);
+            else siftDown(p);
+        }
+    }
+
+    @Override
+    public int poll() {
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    @Override
+    public double minPriority() {
+        return prio[heap[0]];
+    }
+
+    private void siftUp(int i) {
+        int x = heap[i];
+        double px = prio[x];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (prio[p] <= px) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = x;
+        pos[x] = i;
+    }
+
+    private void siftDown(int i) {
+        int x = heap[i];
+        double px = prio[x];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && prio[heap[right]] < prio[c]) {
+                child = right;
+                c = heap[child];
+            }
+            if (px <= prio[c]) break;
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = x;
+        pos[x] = i;
+    }
+}
@@ -0,0 +1,30 @@
+package maze;
+
+// Min-priority queue over cell indices in [0, capacity) with decrease-key.
+public interface IndexedPriorityQueue {
+    // Resizes if needed and empties the queue.
+    void reset(int capacity);
+
+    boolean isEmpty();
+
+    int size();
+
+    boolean contains(int index);
+
+    // Inserts `index`, or moves it to `priority` if it is already queued.
+    void insertOrUpdate(int index, double priority);
+
+    int poll();
+
+    // Priority of the element poll() would return next; the queue must not be empty.
+    double minPriority();
+
+    static IndexedPriorityQueue create(String kind) {
+        switch (kind) {
+            case "heap": return new IndexedMinHeap();
+            case "bucket": return new BucketQueue();
+            case "java": return new JavaPriorityQueue();
+            default: throw new IllegalArgumentException("Unknown queue: " + kind);
+        }
+    }
+}
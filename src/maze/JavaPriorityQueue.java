@@ -0,0 +1,56 @@
+package maze;
+
+import java.util.PriorityQueue;
+
+// The original java.util.PriorityQueue strategy (linear remove + re-add), kept for comparison.
+public class JavaPriorityQueue implements IndexedPriorityQueue {
+    private double[] prio = new double[0];
+    private boolean[] queued = new boolean[0];
+    private final PriorityQueue<Integer> pq = new PriorityQueue<>((a, b) -> Double.compare(prio[a], prio[b]));
+
+    @Override
+    public void reset(int capacity) {
+        if (queued.length != capacity) {
+            prio = new double[capacity];
+            queued = new boolean[capacity];
+        } else {
+            for (int i : pq) queued[i] = false;
+        }
+        pq.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pq.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return pq.size();
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return queued[index];
+    }
+
+    @Override
+    public void insertOrUpdate(int index, double priority) {
+        if (queued[index]) pq.remove(index);
+        prio[index] = priority;
+        queued[index] = true;
+        pq.add(index);
+    }
+
+    @Override
+    public int poll() {
+        int index = pq.poll();
+        queued[index] = false;
+        return index;
+    }
+
+    @Override
+    public double minPriority() {
+        return prio[pq.peek()];
+    }
+}
@@ -0,0 +1,73 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+// Compares A* heuristics on random queries over one seeded maze: the old Manhattan x 1
+// estimate (inadmissible with free terrain), Manhattan x cheapest step, and ALT. Costs are
+// checked against Dijkstra. With a file argument the maze and its landmarks are saved and
+// loaded back before the queries, as MazeGame does.
+// Usage: java maze.LandmarkReport [cols=1024] [rows=1024] [queries=100] [landmarks=8] [seed=1] [file]
+public class LandmarkReport {
+    public static void main(String[] args) throws IOException {
+        int cols = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int count = args.length > 3 ? Integer.parseInt(args[3]) : AltAStarSolver.DEFAULT_LANDMARKS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+        MazeGrid maze = new MazeGenerator(seed).generate(cols, rows);
+        long t0 = System.nanoTime();
+        Landmarks landmarks = new Landmarks(maze, count);
+        System.out.printf(Locale.ROOT, "%d landmarks on %dx%d in %.0f ms (%d MB table)%n", landmarks.count(), cols, rows,
+                (System.nanoTime() - t0) / 1e6, 4L * landmarks.count() * maze.size() >> 20);
+
+        if (args.length > 5) {
+            Path file = Paths.get(args[5]);
+            new MazeFile(maze, seed, 0, maze.size() - 1).save(file, false);
+            landmarks.save(Landmarks.pathFor(file));
+            landmarks.close();
+            t0 = System.nanoTime();
+            maze = MazeFile.load(file).grid;
+            landmarks = Landmarks.load(Landmarks.pathFor(file), maze);
+            System.out.printf(Locale.ROOT, "reloaded from %s in %.0f ms%n", file, (System.nanoTime() - t0) / 1e6);
+        }
+
+        AltAStarSolver alt = new AltAStarSolver();
+        alt.setLandmarks(landmarks);
+        MazeSolver[] solvers = {new DijkstraSolver(), new ManhattanAStar(), new AStarSolver(), alt};
+        long[] expanded = new long[solvers.length], nanos = new long[solvers.length];
+        int[] wrong = new int[solvers.length];
+        Random rand = new Random(seed);
+        for (int q = 0; q < queries; q++) {
+            int start = rand.nextInt(maze.size()), end = rand.nextInt(maze.size());
+            int cost = 0;
+            for (int s = 0; s < solvers.length; s++) {
+                long begin = System.nanoTime();
+                SolveResult r = solvers[s].solve(maze, start, end);
+                nanos[s] += System.nanoTime() - begin;
+                expanded[s] += r.expanded;
+                if (s == 0) cost = r.cost;
+                else if (r.cost != cost) wrong[s]++;
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%-22s %12s %10s %10s %8s%n", "heuristic", "avg expanded", "vs old", "avg ms", "wrong");
+        String[] names = {"none (Dijkstra)", "Manhattan x 1 (old)", "Manhattan x min step", "ALT"};
+        for (int s = 0; s < solvers.length; s++) {
+            System.out.printf(Locale.ROOT, "%-22s %12.0f %9.1f%% %10.2f %8d%n", names[s], (double) expanded[s] / queries,
+                    100.0 * (expanded[s] - expanded[1]) / expanded[1], nanos[s] / 1e6 / queries, wrong[s]);
+        }
+    }
+
+    // The heuristic A* used before: Manhattan distance regardless of the cheapest terrain.
+    private static final class ManhattanAStar extends DijkstraSolver {
+        @Override
+        protected double heuristic(MazeGrid maze, int a, int b) {
+            return AStarSolver.manhattan(maze, a, b);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+// Landmark distances for the ALT heuristic (A*, Landmarks, Triangle inequality). Landmarks
+// are picked by farthest-point selection over hop distance, then one weighted Dijkstra per
+// landmark runs on the pool, at most one per pool thread, each writing its distances
+// straight into the table and holding only its frontier besides. Distances are kept
+// cell-major (all landmarks of a cell side by side) so a heuristic call reads one short run
+// of the table.
+//
+// Entering a cell costs its terrain, so distances are directed, but reversing a route
+// only swaps which endpoint's terrain is paid: d(v, L) = d(L, v) + t(L) - t(v). That gives
+// both triangle bounds from the forward table alone:
+//   d(a, b) >= d(L, b) - d(L, a)   and   d(a, b) >= d(a, L) - d(b, L).
+//
+// The bounds stay admissible while routes only get dearer, so closing a wall keeps the
+// table; opening one or changing terrain marks it stale.
+//
+// File layout, little-endian: int magic "LMRK", short version, short 0, int cols, int rows,
+// int count, long CRC32 of the maze cells, int[count] landmark cells, then the table.
+public class Landmarks implements MazeEditListener {
+    public static final int MAGIC = 0x4C4D524B;
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final int UNREACHABLE = ShortestPathTree.UNREACHABLE;
+
+    public final MazeGrid maze;
+    private final int[] cells;
+    private final int[] table;
+    private volatile boolean stale;
+
+    public Landmarks(MazeGrid maze, int count) {
+        this(maze, count, ForkJoinPool.commonPool());
+    }
+
+    public Landmarks(MazeGrid maze, int count, ForkJoinPool pool) {
+        this(maze, select(maze, Math.min(count, maze.size())), null, pool);
+    }
+
+    private Landmarks(MazeGrid maze, int[] cells, int[] table, ForkJoinPool pool) {
+        this.maze = maze;
+        this.cells = cells;
+        if (table == null) {
+            int k = cells.length;
+            int[] t = new int[maze.size() * k];
+            Arrays.fill(t, UNREACHABLE);
+            int maxCost = 0;
+            for (int c = 0; c < maze.size(); c++) maxCost = Math.max(maxCost, maze.terrainCost(c));
+            int ring = Integer.highestOneBit(Math.max(maxCost, 1)) << 1;
+            AtomicInteger next = new AtomicInteger();
+            pool.submit(() -> IntStream.range(0, Math.min(k, pool.getParallelism())).parallel().forEach(w -> {
+                Buckets buckets = new Buckets(ring);
+                for (int l; (l = next.getAndIncrement()) < k; ) distances(maze, cells[l], t, k, l, buckets);
+            })).join();
+            table = t;
+        }
+        this.table = table;
+        maze.addEditListener(this);
+    }
+
+    // Dijkstra from `source` into column `l` of the table `t` (stride `k`), which doubles as
+    // the distance array. The queue is Dial's ring of buckets, a power of two above the dearest
+    // step; a cell is queued again when it gets cheaper and its older entry is skipped.
+    private static void distances(MazeGrid maze, int source, int[] t, int k, int l, Buckets buckets) {
+        int[] neighbors = new int[4];
+        t[source * k + l] = 0;
+        buckets.add(0, source);
+        for (int d = 0; buckets.queued > 0; d++) {
+            // Free cells add to the bucket being drained, so its size is read every time.
+            for (int i = 0; i < buckets.size(d); i++) {
+                int current = buckets.get(d, i);
+                buckets.queued--;
+                if (t[current * k + l] != d) continue;
+                int count = maze.getValidNeighbors(current, neighbors);
+                for (int j = 0; j < count; j++) {
+                    int nb = neighbors[j];
+                    int nd = d + maze.terrainCost(nb);
+                    if (nd < t[nb * k + l]) {
+                        t[nb * k + l] = nd;
+                        buckets.add(nd, nb);
+                    }
+                }
+            }
+            buckets.clear(d);
+        }
+    }
+
+    // Cells queued by distance, in a ring of growable buckets indexed by distance mod size.
+    private static final class Buckets {
+        private final int[][] cells;
+        private final int[] sizes;
+        private final int mask;
+        int queued;
+
+        Buckets(int size) {
+            cells = new int[size][16];
+            sizes = new int[size];
+            mask = size - 1;
+        }
+
+        void add(int distance, int cell) {
+            int b = distance & mask;
+            if (sizes[b] == cells[b].length) cells[b] = Arrays.copyOf(cells[b], sizes[b] * 2);
+            cells[b][sizes[b]++] = cell;
+            queued++;
+        }
+
+        int size(int distance) {
+            return sizes[distance & mask];
+        }
+
+        int get(int distance, int i) {
+            return cells[distance & mask][i];
+        }
+
+        void clear(int distance) {
+            sizes[distance & mask] = 0;
+        }
+    }
+
+    // Farthest-point selection: start from the cell farthest from cell 0, then keep adding
+    // the cell farthest from every landmark chosen so far. Hop distance keeps this cheap.
+    private static int[] select(MazeGrid maze, int count) {
+        int n = maze.size();
+        int[] nearest = new int[n];
+        int[] hops = new int[n];
+        int[] queue = new int[n];
+        int[] neighbors = new int[4];
+        int[] picked = new int[count];
+        Arrays.fill(nearest, UNREACHABLE);
+        int next = farthest(maze, 0, hops, queue, neighbors);
+        for (int l = 0; l < count; l++) {
+            picked[l] = next;
+            farthest(maze, next, hops, queue, neighbors);
+            int best = -1;
+            for (int c = 0; c < n; c++) {
+                if (hops[c] < nearest[c]) nearest[c] = hops[c];
+                if (nearest[c] != UNREACHABLE && (best == -1 || nearest[c] > nearest[best])) best = c;
+            }
+            next = best;
+        }
+        return picked;
+    }
+
+    // BFS hop counts from `source` into `hops`; returns the last cell reached.
+    private static int farthest(MazeGrid maze, int source, int[] hops, int[] queue, int[] neighbors) {
+        Arrays.fill(hops, UNREACHABLE);
+        int head = 0, tail = 0;
+        hops[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (hops[next] == UNREACHABLE) {
+                    hops[next] = hops[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return queue[tail - 1];
+    }
+
+    public int count() {
+        return cells.length;
+    }
+
+    public int cell(int landmark) {
+        return cells[landmark];
+    }
+
+    public int distance(int landmark, int cell) {
+        return table[cell * cells.length + landmark];
+    }
+
+    // False once an edit may have made some route cheaper than the table allows for.
+    public boolean isCurrent(MazeGrid grid) {
+        return grid == maze && !stale;
+    }
+
+    public void close() {
+        maze.removeEditListener(this);
+    }
+
+    // Lower bound on the cost from `a` to `b` through landmark `landmark`; 0 if either cell
+    // cannot reach it.
+    public int bound(int landmark, int a, int b) {
+        int k = cells.length;
+        int da = table[a * k + landmark], db = table[b * k + landmark];
+        if (da == UNREACHABLE || db == UNREACHABLE) return 0;
+        return Math.max(0, Math.max(db - da, da - db - maze.terrainCost(a) + maze.terrainCost(b)));
+    }
+
+    public int lowerBound(int a, int b) {
+        int best = 0;
+        for (int l = 0; l < cells.length; l++) best = Math.max(best, bound(l, a, b));
+        return best;
+    }
+
+    @Override
+    public void wallChanged(int a, int b, boolean open) {
+        if (open) stale = true;
+    }
+
+    @Override
+    public void terrainChanged(int index, int oldCost, int newCost) {
+        // The reverse bound reads current terrain, so even a raise can overshoot it.
+        stale = true;
+    }
+
+    // Where the landmarks of a maze file are kept: "<file>.alt" next to it.
+    public static Path pathFor(Path mazeFile) {
+        return mazeFile.resolveSibling(mazeFile.getFileName() + ".alt");
+    }
+
+    public void save(Path path) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+                buf.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0);
+                buf.putInt(maze.cols).putInt(maze.rows).putInt(cells.length).putLong(checksum(maze));
+                for (int cell : cells) buf.putInt(cell);
+                int pos = 0;
+                while (true) {
+                    int n = Math.min(buf.remaining() / 4, table.length - pos);
+                    buf.asIntBuffer().put(table, pos, n);
+                    buf.position(buf.position() + n * 4);
+                    pos += n;
+                    buf.flip();
+                    while (buf.hasRemaining()) ch.write(buf);
+                    buf.clear();
+                    if (pos == table.length) break;
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Reads landmarks saved for `maze`; fails if the file was written for different cells.
+    public static Landmarks load(Path path, MazeGrid maze) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, head, path);
+            if (head.getInt(0) != MAGIC) throw new IOException(path + " is not a landmark file");
+            int version = head.getShort(4);
+            if (version > VERSION) throw new IOException(path + " uses format version " + version + ", newer than " + VERSION);
+            int k = head.getInt(16);
+            if (head.getInt(8) != maze.cols || head.getInt(12) != maze.rows || head.getLong(20) != checksum(maze))
+                throw new IOException(path + " was computed for a different maze");
+            if (k <= 0 || ch.size() != HEADER_BYTES + 4L * k * (maze.size() + 1L))
+                throw new IOException(path + " is truncated");
+
+            int[] cells = new int[k], table = new int[maze.size() * k];
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buf.limit(4 * k);
+            readFully(ch, buf, path);
+            buf.asIntBuffer().get(cells);
+            for (int pos = 0; pos < table.length; ) {
+                buf.clear();
+                buf.limit((int) Math.min(buf.capacity(), 4L * (table.length - pos)));
+                readFully(ch, buf, path);
+                IntBuffer ints = buf.asIntBuffer();
+                int n = ints.remaining();
+                ints.get(table, pos, n);
+                pos += n;
+            }
+            for (int cell : cells) {
+                if (cell < 0 || cell >= maze.size()) throw new IOException(path + " has a bad landmark cell " + cell);
+            }
+            return new Landmarks(maze, cells, table, null);
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, Path path) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) throw new IOException(path + " is truncated");
+        }
+        buf.flip();
+    }
+
+    // CRC32 over every cell's walls and terrain, so a table is never paired with another maze.
+    static long checksum(MazeGrid maze) {
+        CRC32 crc = new CRC32();
+        byte[] block = new byte[1 << 16];
+        for (int base = 0; base < maze.size(); base += block.length) {
+            int n = Math.min(block.length, maze.size() - base);
+            for (int i = 0; i < n; i++) block[i] = (byte) (maze.wallMask(base + i) | maze.terrainCost(base + i) << 4);
+            crc.update(block, 0, n);
+        }
+        return crc.getValue();
+    }
+}
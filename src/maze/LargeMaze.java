@@ -0,0 +1,71 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Read-only view of an uncompressed MazeFile with long cell indices, for mazes past the
+// 2^31 cells a MazeGrid can hold. Cells are read from the mapping on demand, so only the
+// pages a search touches are ever in memory.
+public class LargeMaze {
+    public final int cols, rows;
+    public final long seed, start, end;
+    private final MappedBytes body;
+    private final long terrainOffset;
+
+    private LargeMaze(MazeFile.Header header, MappedBytes body) {
+        this.cols = header.cols;
+        this.rows = header.rows;
+        this.seed = header.seed;
+        this.start = header.start;
+        this.end = header.end;
+        this.body = body;
+        this.terrainOffset = MazeFile.wallBytes(header.cells());
+    }
+
+    public static LargeMaze open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MazeFile.Header header = MazeFile.Header.read(ch, path);
+            if ((header.flags & MazeFile.FLAG_COMPRESSED) != 0)
+                throw new IOException(path + " is compressed; only uncompressed files can be mapped");
+            return new LargeMaze(header, new MappedBytes(ch, FileChannel.MapMode.READ_ONLY, MazeFile.HEADER_BYTES, header.bodyLength));
+        }
+    }
+
+    public long size() {
+        return (long) cols * rows;
+    }
+
+    public long index(int c, int r) {
+        return c + (long) r * cols;
+    }
+
+    public int col(long index) {
+        return (int) (index % cols);
+    }
+
+    public int row(long index) {
+        return (int) (index / cols);
+    }
+
+    public int wallMask(long index) {
+        return (body.get(index >>> 1) >> ((index & 1) << 2)) & 0xF;
+    }
+
+    public int terrainCost(long index) {
+        return MazeFile.TERRAIN_COSTS[(body.get(terrainOffset + (index >>> 2)) >> ((index & 3) << 1)) & 3];
+    }
+
+    // Cell across an open wall `dir` (0=Top, 1=Right, 2=Bottom, 3=Left), or -1.
+    public long openNeighbor(long index, int dir) {
+        if ((wallMask(index) & (1 << dir)) != 0) return -1;
+        int c = col(index), r = row(index);
+        switch (dir) {
+            case 0: return r > 0 ? index - cols : -1;
+            case 1: return c < cols - 1 ? index + 1 : -1;
+            case 2: return r < rows - 1 ? index + cols : -1;
+            default: return c > 0 ? index - 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// A file region of any length mapped as consecutive 1 GiB MappedByteBuffers, since a single
+// buffer cannot address more than 2 GiB. Positions are relative to the region start.
+public class MappedBytes {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long length;
+
+    public MappedBytes(FileChannel channel, FileChannel.MapMode mode, long offset, long length) throws IOException {
+        this.length = length;
+        int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+        segments = new MappedByteBuffer[Math.max(1, count)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(mode, offset + start, Math.min(1L << SEGMENT_BITS, length - start));
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public byte get(long pos) {
+        return segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK));
+    }
+
+    public void put(long pos, byte value) {
+        segments[(int) (pos >>> SEGMENT_BITS)].put((int) (pos & SEGMENT_MASK), value);
+    }
+
+    // Bulk copy; `bytes` may span segment boundaries.
+    public void get(long pos, byte[] bytes, int off, int len) {
+        while (len > 0) {
+            MappedByteBuffer seg = segments[(int) (pos >>> SEGMENT_BITS)];
+            int at = (int) (pos & SEGMENT_MASK);
+            int n = Math.min(len, seg.capacity() - at);
+            seg.get(at, bytes, off, n);
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    public void put(long pos, byte[] bytes, int off, int len) {
+        while (len > 0) {
+            MappedByteBuffer seg = segments[(int) (pos >>> SEGMENT_BITS)];
+            int at = (int) (pos & SEGMENT_MASK);
+            int n = Math.min(len, seg.capacity() - at);
+            seg.put(at, bytes, off, n);
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    public void force() {
+        for (MappedByteBuffer seg : segments) seg.force();
+    }
+}
@@ -0,0 +1,40 @@
+package maze;
+
+// A MazeGrid whose cells stay in a mapped MazeFile body: 4-bit wall masks two to a byte
+// (even cell in the low nibble), then 2-bit terrain codes four to a byte. Nothing is copied
+// on load; solvers read the mapping through the usual accessors. Edits go to the mapping,
+// which MazeFile opens copy-on-write, so they never reach the file on disk.
+public class MappedMazeGrid extends MazeGrid {
+    private final MappedBytes body;
+    private final long terrainOffset;
+
+    MappedMazeGrid(int cols, int rows, MappedBytes body, long terrainOffset) {
+        super(cols, rows, null, null);
+        this.body = body;
+        this.terrainOffset = terrainOffset;
+    }
+
+    @Override
+    int readWalls(int index) {
+        return (body.get(index >>> 1) >> ((index & 1) << 2)) & 0xF;
+    }
+
+    @Override
+    void writeWalls(int index, int mask) {
+        long pos = index >>> 1;
+        int shift = (index & 1) << 2;
+        body.put(pos, (byte) ((body.get(pos) & ~(0xF << shift)) | (mask & 0xF) << shift));
+    }
+
+    @Override
+    int readTerrain(int index) {
+        return MazeFile.TERRAIN_COSTS[(body.get(terrainOffset + (index >>> 2)) >> ((index & 3) << 1)) & 3];
+    }
+
+    @Override
+    void writeTerrain(int index, int cost) {
+        long pos = terrainOffset + (index >>> 2);
+        int shift = (index & 3) << 1;
+        body.put(pos, (byte) ((body.get(pos) & ~(3 << shift)) | MazeFile.terrainCode(cost) << shift));
+    }
+}
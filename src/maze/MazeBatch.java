@@ -0,0 +1,35 @@
+package maze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Headless multi-agent run: one seeded maze, `queries` random (start, end) pairs solved
+// concurrently through a BatchSolver, with throughput and latency percentiles.
+// Usage: java maze.MazeBatch [algo=A*] [cols=256] [rows=256] [queries=10000] [threads=cores] [virtual|pool] [seed=1]
+public class MazeBatch {
+    public static void main(String[] args) {
+        String algo = args.length > 0 ? args[0] : "A*";
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        boolean virtual = args.length <= 5 || args[5].equals("virtual");
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+
+        MazeGrid maze = new MazeGenerator(seed).generate(cols, rows);
+        Random rand = new Random(seed);
+        List<BatchSolver.Query> batch = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) batch.add(new BatchSolver.Query(rand.nextInt(maze.size()), rand.nextInt(maze.size()), algo));
+
+        try (BatchSolver solver = new BatchSolver(maze, threads, virtual)) {
+            // A short warmup batch, so the JIT and any preprocessing stay out of the numbers.
+            solver.submitAll(batch.subList(0, Math.min(queries, 200))).join();
+            BatchSolver.Batch result = solver.submitAll(batch).join();
+            long solved = result.results().filter(r -> r.found).count();
+            System.out.printf("%s on %dx%d, %d threads (%s): %d/%d solved%n", algo, cols, rows, threads,
+                    solver.usesVirtualThreads() ? "virtual" : "ForkJoinPool", solved, queries);
+            System.out.println(result);
+        }
+    }
+}
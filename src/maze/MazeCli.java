@@ -0,0 +1,93 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+// Headless batch solver: generates `count` seeded mazes and solves each one.
+// Usage: java MazeCli [algo=A*] [cols=35] [rows=25] [count=1000] [seed=1] [queue=heap|bucket|java]
+//
+// "check" instead runs random queries on `count` random mazes, some of them opened up into
+// loops and open areas, with walls added back between queries, and fails unless `algo`
+// returns exactly the reference's path every time. The defaults hold the bitboard BFS to
+// BfsSolver's route, which callers such as route caches and traces rely on.
+// Usage: java MazeCli check [algo=BFS (bitboard)] [reference=BFS] [count=40] [queries=30] [seed=5]
+public class MazeCli {
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("check")) {
+            System.exit(check(Arrays.copyOfRange(args, 1, args.length)) ? 0 : 1);
+        }
+        String algo = args.length > 0 ? args[0] : "A*";
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 35;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 25;
+        int count = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        String queue = args.length > 5 ? args[5] : "heap";
+
+        MazeSolver solver = MazeSolver.create(algo, queue);
+        long solveNanos = 0, totalExpanded = 0, totalCost = 0;
+        int solved = 0;
+        long begin = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            MazeGrid maze = new MazeGenerator(seed + i).generate(cols, rows);
+            int start = 0, end = maze.size() - 1;
+            maze.setTerrainCost(start, 0);
+            maze.setTerrainCost(end, 0);
+
+            long t0 = System.nanoTime();
+            SolveResult result = solver.solve(maze, start, end);
+            solveNanos += System.nanoTime() - t0;
+
+            if (result.found) solved++;
+            totalExpanded += result.expanded;
+            totalCost += result.cost;
+        }
+
+        double totalSec = (System.nanoTime() - begin) / 1e9;
+        System.out.printf(Locale.ROOT, "%s (%s queue) on %dx%d: %d/%d solved, avg cost %.1f, avg expanded %.1f%n",
+                solver.name(), queue, cols, rows, solved, count, (double) totalCost / count, (double) totalExpanded / count);
+        System.out.printf(Locale.ROOT, "solve: %.0f mazes/s (%.1f us/maze), end-to-end incl. generation: %.0f mazes/s%n",
+                count / (solveNanos / 1e9), solveNanos / 1e3 / count, count / totalSec);
+    }
+
+    private static boolean check(String[] args) {
+        String algo = args.length > 0 ? args[0] : "BFS (bitboard)";
+        String reference = args.length > 1 ? args[1] : "BFS";
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 5;
+
+        MazeSolver solver = MazeSolver.create(algo), expected = MazeSolver.create(reference);
+        Random rand = new Random(seed);
+        int runs = 0, wrong = 0;
+        for (int m = 0; m < count; m++) {
+            int cols = 1 + rand.nextInt(150), rows = 1 + rand.nextInt(90);
+            // Every fourth maze starts without walls; the rest lose a random share of theirs.
+            MazeGrid maze = m % 4 == 0 ? new MazeGrid(cols, rows) : new MazeGenerator(seed + m).generate(cols, rows);
+            int knock = m % 4 == 0 ? 2 * maze.size() : rand.nextInt(maze.size() + 1);
+            for (int i = 0; i < knock; i++) {
+                int c = rand.nextInt(maze.size()), nb = maze.neighbor(c, 1 + rand.nextInt(2));
+                if (nb != -1) maze.removeWalls(c, nb);
+            }
+            for (int q = 0; q < queries; q++) {
+                if (q % 5 == 4) {
+                    for (int i = 0; i < 20; i++) {
+                        int c = rand.nextInt(maze.size()), nb = maze.neighbor(c, 1);
+                        if (nb != -1) maze.addWalls(c, nb);
+                    }
+                }
+                int start = rand.nextInt(maze.size()), end = rand.nextInt(maze.size());
+                SolveResult a = solver.solve(maze, start, end), b = expected.solve(maze, start, end);
+                runs++;
+                if (a.found == b.found && a.cost == b.cost && Arrays.equals(a.path, b.path)) continue;
+                if (wrong++ < 10) {
+                    System.out.printf(Locale.ROOT, "%dx%d maze %d, %d -> %d: %s cost %d, %s cost %d, paths part at step %d%n",
+                            cols, rows, m, start, end, algo, a.cost, reference, b.cost, Arrays.mismatch(a.path, b.path));
+                }
+            }
+        }
+        System.out.printf(Locale.ROOT, "%s vs %s: %d of %d queries differ%n", algo, reference, wrong, runs);
+        return wrong == 0;
+    }
+}
@@ -0,0 +1,7 @@
+package maze;
+
+public interface MazeEditListener {
+    void wallChanged(int a, int b, boolean open);
+
+    void terrainChanged(int index, int oldCost, int newCost);
+}
@@ -0,0 +1,361 @@
+package maze;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Binary maze file, little-endian:
+//
+//   0  int   magic "MAZE"         24 long  start cell
+//   4  short format version        32 long  end cell
+//   6  short flags                 40 long  body length (uncompressed)
+//   8  int   cols                  48 int   block size (compressed only)
+//  12  int   rows                  52 int   block count (compressed only)
+//  16  long  generator seed        56       reserved up to HEADER_BYTES
+//
+// The body holds the 4-bit wall masks two cells to a byte, then the terrain as 2-bit codes
+// (TERRAIN_COSTS) four to a byte. With FLAG_COMPRESSED the body is cut into BLOCK_BYTES
+// blocks, each deflated on its own; an int table of compressed block lengths follows the
+// header. Uncompressed files load as a MappedMazeGrid without reading the body; compressed
+// ones are inflated block by block into a heap MazeGrid.
+public class MazeFile {
+    public static final int MAGIC = 0x4D415A45;
+    public static final int VERSION = 1;
+    public static final int FLAG_COMPRESSED = 1;
+    static final int HEADER_BYTES = 64;
+    static final int BLOCK_BYTES = 1 << 20;
+    static final int MIN_BLOCK_BYTES = 1 << 12;
+    static final int[] TERRAIN_COSTS = {0, 1, 5, 10};
+
+    public final MazeGrid grid;
+    public final long seed;
+    public final int start, end;
+
+    public MazeFile(MazeGrid grid, long seed, int start, int end) {
+        this.grid = grid;
+        this.seed = seed;
+        this.start = start;
+        this.end = end;
+    }
+
+    static int terrainCode(int cost) {
+        for (int code = 0; code < TERRAIN_COSTS.length; code++) if (TERRAIN_COSTS[code] == cost) return code;
+        throw new IllegalArgumentException("Terrain cost " + cost + " has no code in the maze file format");
+    }
+
+    static long wallBytes(long cells) {
+        return (cells + 1) / 2;
+    }
+
+    static long bodyBytes(long cells) {
+        return wallBytes(cells) + (cells + 3) / 4;
+    }
+
+    // The fixed header fields; also read by LargeMaze, which is not limited to int cells.
+    static final class Header {
+        int flags, cols, rows, blockSize, blockCount;
+        long seed, start, end, bodyLength;
+
+        long cells() {
+            return (long) cols * rows;
+        }
+
+        void write(ByteBuffer buf) {
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(0, MAGIC);
+            buf.putShort(4, (short) VERSION);
+            buf.putShort(6, (short) flags);
+            buf.putInt(8, cols);
+            buf.putInt(12, rows);
+            buf.putLong(16, seed);
+            buf.putLong(24, start);
+            buf.putLong(32, end);
+            buf.putLong(40, bodyLength);
+            buf.putInt(48, blockSize);
+            buf.putInt(52, blockCount);
+        }
+
+        static Header read(FileChannel ch, Path path) throws IOException {
+            if (ch.size() < HEADER_BYTES) throw new IOException(path + " is not a maze file");
+            Header h = read(ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES), path.toString());
+            if ((h.flags & FLAG_COMPRESSED) == 0 && ch.size() < HEADER_BYTES + h.bodyLength)
+                throw new IOException(path + " is truncated");
+            return h;
+        }
+
+        static Header read(ByteBuffer buf, String name) throws IOException {
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(0) != MAGIC) throw new IOException(name + " is not a maze file");
+            int version = buf.getShort(4);
+            if (version > VERSION) throw new IOException(name + " uses format version " + version + ", newer than " + VERSION);
+            Header h = new Header();
+            h.flags = buf.getShort(6);
+            h.cols = buf.getInt(8);
+            h.rows = buf.getInt(12);
+            h.seed = buf.getLong(16);
+            h.start = buf.getLong(24);
+            h.end = buf.getLong(32);
+            h.bodyLength = buf.getLong(40);
+            h.blockSize = buf.getInt(48);
+            h.blockCount = buf.getInt(52);
+            if (h.cols <= 0 || h.rows <= 0 || h.bodyLength != bodyBytes(h.cells()))
+                throw new IOException(name + " has a bad header (" + h.cols + "x" + h.rows + ")");
+            if (h.start < 0 || h.start >= h.cells() || h.end < 0 || h.end >= h.cells())
+                throw new IOException(name + " has start " + h.start + " or end " + h.end + " outside its " + h.cells() + " cells");
+            // Blocks are at least MIN_BLOCK_BYTES (or the whole body), which keeps the table small.
+            if ((h.flags & FLAG_COMPRESSED) != 0 && (h.blockSize < Math.min(MIN_BLOCK_BYTES, h.bodyLength)
+                    || h.blockSize <= 0 || h.blockSize > Math.max(BLOCK_BYTES, h.bodyLength)
+                    || h.blockCount != (h.bodyLength + h.blockSize - 1) / h.blockSize))
+                throw new IOException(name + " has a bad block table");
+            return h;
+        }
+    }
+
+    private Header header(int flags, long bodyLength, int blockSize, int blockCount) {
+        Header h = new Header();
+        h.flags = flags;
+        h.cols = grid.cols;
+        h.rows = grid.rows;
+        h.seed = seed;
+        h.start = start;
+        h.end = end;
+        h.bodyLength = bodyLength;
+        h.blockSize = blockSize;
+        h.blockCount = blockCount;
+        return h;
+    }
+
+    // Writes a temporary file next to `path` and renames it into place, so a grid mapped
+    // from `path` itself stays readable while it is being saved.
+    public void save(Path path, boolean compress) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            write(tmp, compress);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void write(Path path, boolean compress) throws IOException {
+        long cells = grid.size();
+        long bodyLength = bodyBytes(cells);
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (!compress) {
+                MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header(0, bodyLength, 0, 0).write(header);
+                header.force();
+                MappedBytes body = new MappedBytes(ch, FileChannel.MapMode.READ_WRITE, HEADER_BYTES, bodyLength);
+                byte[] block = new byte[BLOCK_BYTES];
+                for (long pos = 0; pos < bodyLength; pos += BLOCK_BYTES) {
+                    int n = (int) Math.min(BLOCK_BYTES, bodyLength - pos);
+                    pack(pos, block, n);
+                    body.put(pos, block, 0, n);
+                }
+                body.force();
+                return;
+            }
+            ArrayList<byte[]> blocks = deflate();
+            long dataLength = 0;
+            for (byte[] packed : blocks) dataLength += packed.length;
+            long tableEnd = HEADER_BYTES + 4L * blocks.size();
+            MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_WRITE, 0, tableEnd);
+            header(FLAG_COMPRESSED, bodyLength, BLOCK_BYTES, blocks.size()).write(header);
+            for (int i = 0; i < blocks.size(); i++) header.putInt(HEADER_BYTES + 4 * i, blocks.get(i).length);
+            header.force();
+            MappedBytes data = new MappedBytes(ch, FileChannel.MapMode.READ_WRITE, tableEnd, dataLength);
+            long pos = 0;
+            for (byte[] packed : blocks) {
+                data.put(pos, packed, 0, packed.length);
+                pos += packed.length;
+            }
+            data.force();
+        }
+    }
+
+    // The compressed format as one stream, for sending a maze over the wire.
+    public void write(OutputStream out) throws IOException {
+        ArrayList<byte[]> blocks = deflate();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 4 * blocks.size());
+        header(FLAG_COMPRESSED, bodyBytes(grid.size()), BLOCK_BYTES, blocks.size()).write(header);
+        for (int i = 0; i < blocks.size(); i++) header.putInt(HEADER_BYTES + 4 * i, blocks.get(i).length);
+        out.write(header.array());
+        for (byte[] packed : blocks) out.write(packed);
+    }
+
+    private ArrayList<byte[]> deflate() {
+        long bodyLength = bodyBytes(grid.size());
+        ArrayList<byte[]> blocks = new ArrayList<>();
+        byte[] block = new byte[BLOCK_BYTES];
+        byte[] out = new byte[BLOCK_BYTES + BLOCK_BYTES / 100 + 64];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        for (long pos = 0; pos < bodyLength; pos += BLOCK_BYTES) {
+            int n = (int) Math.min(BLOCK_BYTES, bodyLength - pos);
+            pack(pos, block, n);
+            deflater.reset();
+            deflater.setInput(block, 0, n);
+            deflater.finish();
+            int len = deflater.deflate(out);
+            byte[] packed = new byte[len];
+            System.arraycopy(out, 0, packed, 0, len);
+            blocks.add(packed);
+        }
+        deflater.end();
+        return blocks;
+    }
+
+    // Fills `out` with body bytes [pos, pos + n).
+    private void pack(long pos, byte[] out, int n) {
+        long cells = grid.size();
+        long terrainStart = wallBytes(cells);
+        for (int i = 0; i < n; i++) {
+            long p = pos + i;
+            int b = 0;
+            if (p < terrainStart) {
+                long cell = p * 2;
+                b = grid.wallMask((int) cell);
+                if (cell + 1 < cells) b |= grid.wallMask((int) cell + 1) << 4;
+            } else {
+                long cell = (p - terrainStart) * 4;
+                for (int k = 0; k < 4 && cell + k < cells; k++) b |= terrainCode(grid.terrainCost((int) (cell + k))) << (2 * k);
+            }
+            out[i] = (byte) b;
+        }
+    }
+
+    public static MazeFile load(Path path) throws IOException {
+        // A copy-on-write mapping needs a writable channel. A read-only file is read into a
+        // heap grid instead, so it can still be edited like any other.
+        if (!Files.isWritable(path)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+                return read(in, path.toString(), Integer.MAX_VALUE);
+            }
+        }
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Header header = Header.read(ch, path);
+            int cols = header.cols, rows = header.rows;
+            if (header.cells() > Integer.MAX_VALUE)
+                throw new IOException(path + " has " + header.cells() + " cells; open it with LargeMaze instead");
+            long seed = header.seed;
+            int start = (int) header.start, end = (int) header.end;
+
+            if ((header.flags & FLAG_COMPRESSED) == 0) {
+                // Copy-on-write: the grid can be edited without touching the file.
+                MappedBytes body = new MappedBytes(ch, FileChannel.MapMode.PRIVATE, HEADER_BYTES, header.bodyLength);
+                return new MazeFile(new MappedMazeGrid(cols, rows, body, wallBytes(header.cells())), seed, start, end);
+            }
+
+            long tableEnd = HEADER_BYTES + 4L * header.blockCount;
+            if (ch.size() < tableEnd) throw new IOException(path + " is truncated");
+            MappedByteBuffer table = ch.map(FileChannel.MapMode.READ_ONLY, 0, tableEnd);
+            table.order(ByteOrder.LITTLE_ENDIAN);
+            int[] lengths = new int[header.blockCount];
+            for (int b = 0; b < lengths.length; b++) lengths[b] = table.getInt(HEADER_BYTES + 4 * b);
+            MappedBytes data = new MappedBytes(ch, FileChannel.MapMode.READ_ONLY, tableEnd, ch.size() - tableEnd);
+            long[] offset = {0};
+            MazeGrid grid = inflate(header, lengths, (bytes, len) -> {
+                if (offset[0] + len > data.length()) throw new IOException(path + " is truncated");
+                data.get(offset[0], bytes, 0, len);
+                offset[0] += len;
+            }, path.toString());
+            return new MazeFile(grid, seed, start, end);
+        }
+    }
+
+    // Reads a maze written by write(OutputStream), or an uncompressed file's bytes, into a
+    // heap grid. `name` identifies the source in error messages; mazes over `maxCells` are
+    // refused before anything is allocated for them.
+    public static MazeFile read(InputStream in, String name, long maxCells) throws IOException {
+        byte[] head = new byte[HEADER_BYTES];
+        readFully(in, head, HEADER_BYTES, name);
+        Header header = Header.read(ByteBuffer.wrap(head), name);
+        if (header.cells() > Math.min(maxCells, Integer.MAX_VALUE))
+            throw new IOException(name + " has " + header.cells() + " cells, more than the " + maxCells + " allowed");
+        MazeGrid grid;
+        if ((header.flags & FLAG_COMPRESSED) == 0) {
+            int cells = (int) header.cells();
+            byte[] walls = new byte[cells], terrain = new byte[cells], block = new byte[BLOCK_BYTES];
+            for (long pos = 0; pos < header.bodyLength; pos += BLOCK_BYTES) {
+                int n = (int) Math.min(BLOCK_BYTES, header.bodyLength - pos);
+                readFully(in, block, n, name);
+                unpack(pos, block, n, walls, terrain);
+            }
+            grid = new MazeGrid(header.cols, header.rows, walls, terrain);
+        } else {
+            byte[] table = new byte[4 * header.blockCount];
+            readFully(in, table, table.length, name);
+            ByteBuffer lengths = ByteBuffer.wrap(table).order(ByteOrder.LITTLE_ENDIAN);
+            int[] blockLengths = new int[header.blockCount];
+            for (int b = 0; b < blockLengths.length; b++) blockLengths[b] = lengths.getInt(4 * b);
+            grid = inflate(header, blockLengths, (bytes, len) -> readFully(in, bytes, len, name), name);
+        }
+        return new MazeFile(grid, header.seed, (int) header.start, (int) header.end);
+    }
+
+    private static void readFully(InputStream in, byte[] bytes, int len, String name) throws IOException {
+        if (in.readNBytes(bytes, 0, len) < len) throw new IOException(name + " is truncated");
+    }
+
+    // Supplies the next compressed block, `len` bytes into `bytes`.
+    private interface BlockReader {
+        void next(byte[] bytes, int len) throws IOException;
+    }
+
+    private static MazeGrid inflate(Header header, int[] lengths, BlockReader blocks, String name) throws IOException {
+        int cells = (int) header.cells();
+        byte[] walls = new byte[cells], terrain = new byte[cells];
+        Inflater inflater = new Inflater();
+        byte[] packed = new byte[0], block = new byte[header.blockSize];
+        try {
+            for (int b = 0; b < lengths.length; b++) {
+                int len = lengths[b];
+                if (len < 0) throw new IOException(name + " has a bad block table");
+                if (packed.length < len) packed = new byte[len];
+                blocks.next(packed, len);
+                inflater.reset();
+                inflater.setInput(packed, 0, len);
+                int n = inflater.inflate(block);
+                long expected = Math.min(header.blockSize, header.bodyLength - (long) b * header.blockSize);
+                if (n != expected || !inflater.finished()) throw new IOException(name + " has a corrupt block");
+                unpack((long) b * header.blockSize, block, n, walls, terrain);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(name + " has a corrupt block", e);
+        } finally {
+            inflater.end();
+        }
+        return new MazeGrid(header.cols, header.rows, walls, terrain);
+    }
+
+    // Spreads body bytes [pos, pos + n) over the wall and terrain arrays; the inverse of pack().
+    private static void unpack(long pos, byte[] block, int n, byte[] walls, byte[] terrain) {
+        int cells = walls.length;
+        long terrainStart = wallBytes(cells);
+        for (int i = 0; i < n && pos < bodyBytes(cells); i++, pos++) {
+            int v = block[i];
+            if (pos < terrainStart) {
+                int cell = (int) (pos * 2);
+                walls[cell] = (byte) (v & 0xF);
+                if (cell + 1 < cells) walls[cell + 1] = (byte) ((v >> 4) & 0xF);
+            } else {
+                int cell = (int) ((pos - terrainStart) * 4);
+                for (int k = 0; k < 4 && cell + k < cells; k++)
+                    terrain[cell + k] = (byte) TERRAIN_COSTS[(v >> (2 * k)) & 3];
+            }
+        }
+    }
+}
@@ -0,0 +1,861 @@
+package maze;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+public class MazeGame extends JPanel {
+    private int cols = 35;
+    private int rows = 25;
+    private final int TILE_SIZE = 25;
+    public final int PAN_WIDTH = 35 * TILE_SIZE;
+    public final int PAN_HEIGHT = 25 * TILE_SIZE;
+    // Zoom steps in pixels per cell. Below the first, each step halves: 1/2, 1/4, ... pixels.
+    private static final int[] CELL_SIZES = {1, 2, 4, 8, 16, 25, 32, 48};
+    static final String[] GRID_SIZES = {"35x25", "256x256", "1024x1024", "4096x4096"};
+    // Playback rates in expansions per second; the first matches the old 15 ms per node.
+    // Max speed runs the search unthrottled and only draws the final frame.
+    static final String[] SPEEDS = {"Real-time", "10x", "100x", "1000x", "Max speed"};
+    private static final int[] SPEED_RATES = {66, 660, 6600, 66000, 0};
+    private final Color START_COLOR = new Color(50, 255, 50);
+    private final Color END_COLOR = new Color(255, 50, 50);
+    private final Color HEAD_COLOR = new Color(255, 255, 0);
+    private final Color PATH_COLOR = new Color(255, 255, 255);
+    private final Color VISITED_OVERLAY = new Color(255, 255, 255, 90);
+    // Renderer tints: cells relaxed but not yet expanded in a replay, and the two sides of a diff.
+    private static final int FRONTIER_TINT = 1, DIFF_A_TINT = 2, DIFF_B_TINT = 3;
+    private static final Color FRONTIER_OVERLAY = new Color(241, 196, 15, 110);
+    static final Color DIFF_A_COLOR = new Color(26, 188, 156), DIFF_B_COLOR = new Color(230, 126, 34);
+    private static final BasicStroke PATH_STROKE = new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke PATH_STROKE_THIN = new BasicStroke(1.5f);
+    private static final BasicStroke MARKER_STROKE = new BasicStroke(2);
+    private static final String[] ADVANCED_ALGOS = {"Bi-BFS", "Bi-Dijkstra", "Bi-A*", "Parallel BFS",
+            "BFS (bitboard)", "Dijkstra (contracted)", "A* (contracted)", "A* (ALT)", "HPA*", "D* Lite"};
+    private static final int[] TERRAIN_CYCLE = {0, 1, 5, 10};
+
+    private MazeGrid grid;
+    private MazeRenderer renderer;
+    // Index into CELL_SIZES, or -k for mipmap level k.
+    private int zoom;
+    private int startCell, endCell;
+    // Generator seed of the current maze, written to saved files.
+    private long seed;
+    // Kept across runs so D* Lite only repairs what terrain edits and start moves changed.
+    private final DStarLiteSolver replanner = new DStarLiteSolver();
+    private final AltAStarSolver alt = new AltAStarSolver();
+    private final HierarchicalSolver hierarchy = new HierarchicalSolver();
+    // Searches run here one at a time, and so do the calls that reset the reused solvers
+    // above: a cancelled search finishes before they are touched again.
+    private final ExecutorService solverThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "maze-solver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private int visitedCount;
+    private volatile int speed;
+    private Playback playback;
+    private int[] finalPath = new int[0];
+    // Second route drawn by a trace diff.
+    private int[] comparePath = new int[0];
+    private int currentHead = -1;
+    public volatile boolean isSolving = false;
+    private boolean isSolved = false;
+    private String currentAlgo = "-";
+
+    private double currentCost = 0;
+    private int finalTotalCost = 0;
+
+    public JLabel lblAlgo, lblCurrentCost, lblFinalCost, lblStatus;
+    public MetricsPanel metricsPanel;
+    public TracePanel tracePanel;
+    // Trace of the latest run of each algorithm on this maze. EDT only.
+    private final LinkedHashMap<String, SearchTrace> traces = new LinkedHashMap<>();
+    private Replay replay;
+
+    public MazeGame() {
+        setBackground(Color.DARK_GRAY);
+        setFocusable(true);
+        requestFocusInWindow();
+        resetMaze();
+
+        // Left click moves the start, right click moves the end, shift-click cycles the terrain.
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (isSolving) return;
+                int index = renderer.cellAt(e.getX(), e.getY());
+                if (index == -1) return;
+                stopReplay();
+                if (e.isShiftDown()) {
+                    int cost = grid.terrainCost(index), next = 0;
+                    for (int i = 0; i < TERRAIN_CYCLE.length; i++)
+                        if (TERRAIN_CYCLE[i] == cost) next = TERRAIN_CYCLE[(i + 1) % TERRAIN_CYCLE.length];
+                    grid.setTerrainCost(index, next);
+                    // Recorded runs no longer describe this maze.
+                    clearTraces();
+                } else if (SwingUtilities.isRightMouseButton(e)) endCell = index;
+                else startCell = index;
+                clearVisited();
+                finalPath = new int[0];
+                comparePath = new int[0];
+                isSolved = false;
+                currentCost = 0;
+                finalTotalCost = 0;
+                updateScoreUI();
+                repaint();
+            }
+        });
+
+        // Ctrl+wheel zooms around the pointer; the plain wheel still scrolls.
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getPoint());
+            } else {
+                JScrollPane pane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+                if (pane != null) pane.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, pane));
+            }
+        });
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(renderer.width(), renderer.height());
+    }
+
+    private static double scaleOf(int zoom) {
+        return zoom >= 0 ? CELL_SIZES[zoom] : 1.0 / (1 << -zoom);
+    }
+
+    public void zoom(int steps) {
+        Rectangle view = getVisibleRect();
+        zoom(steps, new Point(view.x + view.width / 2, view.y + view.height / 2));
+    }
+
+    // Keeps the maze point under `anchor` (panel pixels) in place on screen.
+    private void zoom(int steps, Point anchor) {
+        int next = Math.max(-renderer.maxLevel(), Math.min(CELL_SIZES.length - 1, zoom + steps));
+        if (next == zoom) return;
+        double ratio = scaleOf(next) / scaleOf(zoom);
+        zoom = next;
+        renderer.setScale(scaleOf(zoom));
+        revalidate();
+        JViewport port = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (port != null) {
+            Point view = port.getViewPosition();
+            int x = (int) (anchor.x * ratio) - (anchor.x - view.x);
+            int y = (int) (anchor.y * ratio) - (anchor.y - view.y);
+            port.setViewSize(getPreferredSize());
+            port.setViewPosition(new Point(Math.max(0, x), Math.max(0, y)));
+        }
+        repaint();
+    }
+
+    public void loadMaze(Path path) throws IOException {
+        if (isSolving) return;
+        MazeFile file = MazeFile.load(path);
+        seed = file.seed;
+        showMaze(file.grid, file.start, file.end);
+        // Landmarks saved with the maze spare the ALT search its preprocessing.
+        Path landmarks = Landmarks.pathFor(path);
+        if (Files.exists(landmarks)) {
+            try {
+                Landmarks loaded = Landmarks.load(landmarks, grid);
+                solverThread.execute(() -> alt.setLandmarks(loaded));
+            } catch (IOException e) {
+                // Written for another version of the maze; rebuilt on the next ALT solve.
+            }
+        }
+        updateStatus("Loaded " + path.getFileName(), Color.WHITE);
+    }
+
+    public void saveMaze(Path path, boolean compress) throws IOException {
+        new MazeFile(grid, seed, startCell, endCell).save(path, compress);
+        Landmarks landmarks = alt.cached(grid);
+        if (landmarks != null) landmarks.save(Landmarks.pathFor(path));
+        updateStatus("Saved " + path.getFileName(), Color.WHITE);
+    }
+
+    public void setGridSize(int cols, int rows) {
+        if (isSolving) return;
+        this.cols = cols;
+        this.rows = rows;
+        resetMaze();
+    }
+
+    private void clearVisited() {
+        renderer.clearVisited();
+    }
+
+    public void setSpeed(int speed) {
+        this.speed = speed;
+    }
+
+    public void startSolving(String algo) {
+        if (isSolving) return;
+        stopReplay();
+        isSolving = true;
+        currentAlgo = algo;
+        visitedCount = 0;
+        clearVisited();
+        if (metricsPanel != null) metricsPanel.clear();
+        finalPath = new int[0];
+        comparePath = new int[0];
+        isSolved = false;
+        finalTotalCost = 0;
+        currentCost = 0;
+        updateStatus("Running " + algo + "...", Color.YELLOW);
+        updateScoreUI();
+        repaint();
+
+        MazeSolver solver = solverFor(algo);
+        playback = new Playback(algo, !solver.isWeighted(), SPEED_RATES[speed] == 0);
+        Playback run = playback;
+        MazeGrid maze = grid;
+        int start = startCell, end = endCell;
+        solverThread.execute(() -> run.solve(solver, maze, start, end));
+        run.timer.start();
+    }
+
+    // Solvers that keep preprocessing for the current maze are reused across runs.
+    private MazeSolver solverFor(String algo) {
+        switch (algo) {
+            case "D* Lite": return replanner;
+            case "A* (ALT)": return alt;
+            case "HPA*": return hierarchy;
+            default: return MazeSolver.create(algo);
+        }
+    }
+
+    public void resetMaze() {
+        seed = new Random().nextLong();
+        MazeGrid maze = new MazeGenerator(seed).generate(cols, rows);
+        maze.setTerrainCost(0, 0);
+        maze.setTerrainCost(maze.size() - 1, 0);
+        showMaze(maze, 0, maze.size() - 1);
+    }
+
+    private void showMaze(MazeGrid maze, int start, int end) {
+        if (playback != null) playback.cancel();
+        stopReplay();
+        clearTraces();
+        visitedCount = 0;
+        finalPath = new int[0];
+        comparePath = new int[0];
+        isSolved = false;
+        isSolving = false;
+        currentAlgo = "-";
+        currentCost = 0;
+        finalTotalCost = 0;
+        currentHead = -1;
+        updateStatus("Map Ready.", Color.WHITE);
+        updateScoreUI();
+
+        solverThread.execute(() -> {
+            replanner.close();
+            alt.close();
+            hierarchy.close();
+        });
+        grid = maze;
+        cols = maze.cols;
+        rows = maze.rows;
+        startCell = start;
+        endCell = end;
+
+        // Start at the largest zoom that fits the default view.
+        zoom = CELL_SIZES.length - 1;
+        int maxLevel = 32 - Integer.numberOfLeadingZeros(Math.max(cols, rows) - 1);
+        while (zoom > -maxLevel && (cols * scaleOf(zoom) > PAN_WIDTH || rows * scaleOf(zoom) > PAN_HEIGHT)) zoom--;
+        if (renderer != null) renderer.close();
+        renderer = new MazeRenderer(grid, scaleOf(zoom), VISITED_OVERLAY);
+        renderer.setTints(FRONTIER_OVERLAY, translucent(DIFF_A_COLOR), translucent(DIFF_B_COLOR));
+        revalidate();
+        repaint();
+    }
+
+    public void updateStatus(String text, Color color) {
+        SwingUtilities.invokeLater(() -> {
+            if (lblStatus != null) { lblStatus.setText(text); lblStatus.setForeground(color); }
+        });
+    }
+
+    private void updateScoreUI() {
+        SwingUtilities.invokeLater(() -> {
+            if (lblAlgo != null) lblAlgo.setText(currentAlgo);
+            if (lblCurrentCost != null) lblCurrentCost.setText(String.format("%.0f", currentCost));
+            if (lblFinalCost != null) lblFinalCost.setText(isSolved ? String.valueOf(finalTotalCost) : "-");
+        });
+    }
+
+    private static int refreshInterval() {
+        if (GraphicsEnvironment.isHeadless()) return 16;
+        int hz = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        return hz > 0 ? Math.max(4, 1000 / hz) : 16;
+    }
+
+    // One solver run. The search thread only publishes into `ring` (or, at max speed, into
+    // its own BitSet); everything the panel shows is updated by `timer` on the EDT, which
+    // drains as many events per frame as the chosen speed allows.
+    private final class Playback {
+        final String algo;
+        final boolean unweighted, maxSpeed;
+        final ExpansionRing ring = new ExpansionRing(1 << 14);
+        final BitSet unthrottled = new BitSet();
+        final javax.swing.Timer timer = new javax.swing.Timer(refreshInterval(), e -> tick());
+        final MetricsPanel.FrontierHistory frontier = new MetricsPanel.FrontierHistory();
+        final long begin = System.nanoTime();
+        volatile boolean cancelled, done;
+        volatile SolveResult result;
+        volatile MazeMetrics.Run run;
+        volatile SearchTrace trace;
+        // What stopped the search, if it threw; finish() reports it instead of a result.
+        volatile Throwable failure;
+        // Expansions so far, published every 256 so the search does not pay a volatile write each.
+        volatile int expanded;
+        // Time the search spent waiting on a full ring; kept out of the metrics.
+        volatile long waited;
+        long lastTick = begin;
+        double budget;
+
+        Playback(String algo, boolean unweighted, boolean maxSpeed) {
+            this.algo = algo;
+            this.unweighted = unweighted;
+            this.maxSpeed = maxSpeed;
+        }
+
+        // Solver thread. A full ring makes the search wait for the display.
+        void solve(MazeSolver solver, MazeGrid maze, int start, int end) {
+            SearchTrace.Recorder recorder = new SearchTrace.Recorder(maze, new SearchListener() {
+                int count;
+
+                @Override
+                public void onExpand(int index, double cost) {
+                    if ((++count & 255) == 0) expanded = count;
+                    if (maxSpeed) {
+                        unthrottled.set(index);
+                        return;
+                    }
+                    if (ring.offer(index, cost)) return;
+                    long t = System.nanoTime();
+                    while (!ring.offer(index, cost)) {
+                        if (cancelled) break;
+                        LockSupport.parkNanos(200_000);
+                    }
+                    waited += System.nanoTime() - t;
+                }
+
+                @Override
+                public void onFrontier(int size) {
+                    frontier.add(size);
+                }
+            });
+            try {
+                run = MazeMetrics.solve(solver, maze, start, end, recorder, () -> waited);
+                trace = recorder.finish(start, end, run.result);
+                result = run.result;
+            } catch (RuntimeException | Error e) {
+                // Out of memory on a huge maze, say; the timer must still see the run end.
+                failure = e;
+            } finally {
+                done = true;
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            timer.stop();
+        }
+
+        void tick() {
+            if (cancelled) return;
+            long now = System.nanoTime();
+            int rate = SPEED_RATES[speed];
+            budget = rate == 0 ? ring.capacity() : Math.min(ring.capacity(), budget + rate * (now - lastTick) / 1e9);
+            lastTick = now;
+            int n = ring.drain((int) budget, this::show);
+            budget -= n;
+            updateScoreUI();
+            if (metricsPanel != null) metricsPanel.live(expanded / (Math.max(1, now - begin - waited) / 1e9), frontier);
+            if (done && ring.isEmpty()) finish();
+        }
+
+        private void show(int index, double cost) {
+            if (renderer.markVisited(index)) visitedCount++;
+            currentCost = unweighted ? visitedCount : cost;
+            int previous = currentHead;
+            currentHead = index;
+            if (previous != -1) repaint(markerBounds(previous));
+            repaint(markerBounds(index));
+        }
+
+        private void finish() {
+            timer.stop();
+            for (int i = unthrottled.nextSetBit(0); i >= 0; i = unthrottled.nextSetBit(i + 1))
+                if (renderer.markVisited(i)) visitedCount++;
+            if (failure != null) {
+                updateStatus("Solve failed (" + algo + "): " + failure, Color.RED);
+                isSolving = false;
+                currentHead = -1;
+                updateScoreUI();
+                repaint();
+                return;
+            }
+            if (result.found) {
+                finalPath = result.path;
+                finalTotalCost = result.cost;
+                currentCost = unweighted ? visitedCount : result.cost;
+                isSolved = true;
+                updateStatus("FINISHED! (" + algo + ")", Color.GREEN);
+            } else {
+                updateStatus("Path Not Found.", Color.RED);
+            }
+            if (metricsPanel != null) metricsPanel.finished(run, frontier);
+            traces.remove(algo);
+            traces.put(algo, trace);
+            if (tracePanel != null) tracePanel.setTraces(traces.keySet());
+            isSolving = false;
+            currentHead = -1;
+            updateScoreUI();
+            repaint();
+        }
+    }
+
+    private void clearTraces() {
+        traces.clear();
+        if (tracePanel != null) {
+            tracePanel.setTraces(traces.keySet());
+            tracePanel.setPosition(0, 0);
+        }
+    }
+
+    private void stopReplay() {
+        if (replay != null) replay.timer.stop();
+        replay = null;
+    }
+
+    public void replayTrace(String algo) {
+        SearchTrace trace = traces.get(algo);
+        if (isSolving || trace == null) return;
+        stopReplay();
+        replay = new Replay(trace);
+        replay.seek(0);
+        replay.timer.start();
+    }
+
+    // Dragging the slider seeks the current replay; a finished one stays where it is put.
+    public void seekTrace(int expansion) {
+        if (replay != null && !isSolving) replay.seek(expansion);
+    }
+
+    // Cells only `a` expanded, cells only `b` expanded, and both, with both routes.
+    public void diffTraces(String a, String b) {
+        SearchTrace ta = traces.get(a), tb = traces.get(b);
+        if (isSolving || ta == null || tb == null) return;
+        stopReplay();
+        SearchTrace.Diff diff = SearchTrace.diff(ta, tb);
+        clearVisited();
+        for (int i = diff.both.nextSetBit(0); i >= 0; i = diff.both.nextSetBit(i + 1)) renderer.mark(i, 0);
+        for (int i = diff.onlyA.nextSetBit(0); i >= 0; i = diff.onlyA.nextSetBit(i + 1)) renderer.mark(i, DIFF_A_TINT);
+        for (int i = diff.onlyB.nextSetBit(0); i >= 0; i = diff.onlyB.nextSetBit(i + 1)) renderer.mark(i, DIFF_B_TINT);
+        startCell = ta.start;
+        endCell = ta.end;
+        finalPath = ta.path();
+        comparePath = tb.path();
+        isSolved = true;
+        currentHead = -1;
+        currentAlgo = a + " vs " + b;
+        currentCost = ta.cost;
+        finalTotalCost = ta.cost;
+        updateScoreUI();
+        updateStatus(String.format("%d only %s, %d only %s, %d both", diff.onlyA.cardinality(), a,
+                diff.onlyB.cardinality(), b, diff.both.cardinality()), Color.WHITE);
+        if (tracePanel != null) tracePanel.setText("orders part at #" + diff.firstDivergence);
+        repaint();
+    }
+
+    // Plays a trace back on the EDT at the playback speed. Expanded cells are marked as in
+    // a live run and relaxed ones in the frontier tint until they are expanded. Seeking
+    // forward decodes on from the current event; seeking back starts over from the first.
+    private final class Replay {
+        final SearchTrace trace;
+        final boolean unweighted;
+        final javax.swing.Timer timer = new javax.swing.Timer(refreshInterval(), e -> tick());
+        SearchTrace.Cursor cursor;
+        int position;
+        long lastTick = System.nanoTime();
+        double budget;
+
+        Replay(SearchTrace trace) {
+            this.trace = trace;
+            this.unweighted = !MazeSolver.create(trace.algorithm).isWeighted();
+        }
+
+        void tick() {
+            long now = System.nanoTime();
+            int rate = SPEED_RATES[speed];
+            budget = rate == 0 ? trace.expansions : budget + rate * (now - lastTick) / 1e9;
+            lastTick = now;
+            int n = (int) Math.min(budget, trace.expansions - position);
+            budget -= n;
+            seek(position + n);
+            if (position == trace.expansions) timer.stop();
+        }
+
+        void seek(int target) {
+            target = Math.max(0, Math.min(trace.expansions, target));
+            if (cursor == null || target < position) {
+                clearVisited();
+                cursor = trace.cursor();
+                position = 0;
+                visitedCount = 0;
+            }
+            while (position < target && cursor.next()) {
+                int cell = cursor.cell();
+                if (!cursor.isExpansion()) {
+                    if (renderer.tint(cell) == -1) renderer.mark(cell, FRONTIER_TINT);
+                    continue;
+                }
+                if (renderer.tint(cell) != 0) visitedCount++;
+                renderer.mark(cell, 0);
+                position = cursor.expanded();
+                currentHead = cell;
+                currentCost = unweighted ? visitedCount : cursor.cost();
+            }
+            boolean done = position == trace.expansions;
+            startCell = trace.start;
+            endCell = trace.end;
+            finalPath = done && trace.found ? trace.path() : new int[0];
+            comparePath = new int[0];
+            isSolved = done && trace.found;
+            finalTotalCost = trace.cost;
+            if (done) {
+                currentHead = -1;
+                updateStatus("Replayed " + trace.algorithm + (trace.found ? "" : ", no path"), Color.WHITE);
+            }
+            currentAlgo = trace.algorithm + " (replay)";
+            updateScoreUI();
+            if (tracePanel != null) tracePanel.setPosition(position, trace.expansions);
+            repaint();
+        }
+    }
+
+    private static Color translucent(Color c) {
+        return new Color(c.getRed(), c.getGreen(), c.getBlue(), 140);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Only the chunks, visited cells or mipmap pixels inside the clip are touched.
+        renderer.draw(g2d);
+
+        drawSpecialCell(g2d, startCell, START_COLOR);
+        drawSpecialCell(g2d, endCell, END_COLOR);
+
+        if (isSolved) {
+            g2d.setColor(PATH_COLOR);
+            g2d.setStroke(renderer.scale() >= 8 ? PATH_STROKE : PATH_STROKE_THIN);
+            for (int i = 0; i < finalPath.length - 1; i++) {
+                int c1 = finalPath[i];
+                int c2 = finalPath[i+1];
+                g2d.drawLine((int) renderer.centerX(c1), (int) renderer.centerY(c1),
+                        (int) renderer.centerX(c2), (int) renderer.centerY(c2));
+            }
+            g2d.setColor(DIFF_B_COLOR);
+            g2d.setStroke(PATH_STROKE_THIN);
+            for (int i = 0; i < comparePath.length - 1; i++) {
+                int c1 = comparePath[i];
+                int c2 = comparePath[i + 1];
+                g2d.drawLine((int) renderer.centerX(c1), (int) renderer.centerY(c1),
+                        (int) renderer.centerX(c2), (int) renderer.centerY(c2));
+            }
+        }
+        int head = currentHead;
+        if (head != -1 && !isSolved) drawSpecialCell(g2d, head, HEAD_COLOR);
+    }
+
+    // Markers keep a readable size when cells are only a few pixels wide.
+    private int markerSize() {
+        return Math.max(8, (int) renderer.scale() - 10);
+    }
+
+    private Rectangle markerBounds(int index) {
+        int d = markerSize();
+        Rectangle r = new Rectangle((int) renderer.centerX(index) - d / 2, (int) renderer.centerY(index) - d / 2, d, d);
+        r.add(renderer.cellBounds(index));
+        r.grow(2, 2);
+        return r;
+    }
+
+    private void drawSpecialCell(Graphics2D g2d, int index, Color color) {
+        g2d.setColor(color);
+        int d = markerSize();
+        int x = (int) renderer.centerX(index) - d / 2, y = (int) renderer.centerY(index) - d / 2;
+        g2d.fillOval(x, y, d, d);
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(MARKER_STROKE);
+        g2d.drawOval(x, y, d, d);
+    }
+
+    public static void main(String[] args) {
+        JFrame frame = new JFrame("Java Maze Pathfinder");
+        frame.setLayout(new BorderLayout());
+        frame.getContentPane().setBackground(new Color(40, 40, 40));
+
+        MazeGame gamePanel = new MazeGame();
+        JScrollPane mazeScroll = new JScrollPane(gamePanel);
+        mazeScroll.setBorder(null);
+        mazeScroll.getViewport().setBackground(Color.DARK_GRAY);
+        mazeScroll.setPreferredSize(new Dimension(gamePanel.PAN_WIDTH, gamePanel.PAN_HEIGHT));
+        frame.add(mazeScroll, BorderLayout.CENTER);
+
+        JPanel sidebar = new JPanel(new GridBagLayout());
+        sidebar.setBackground(new Color(50, 50, 50));
+        sidebar.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.weightx = 1.0;
+        gbc.gridy = 0;
+        JLabel titleLabel = new JLabel("CONTROL PANEL", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        titleLabel.setForeground(Color.WHITE);
+        sidebar.add(titleLabel, gbc);
+
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(10), gbc);
+        gbc.gridy++;
+        sidebar.add(createHeaderLabel("Terrain Legend"), gbc);
+
+        JPanel legendPanel = new JPanel(new GridLayout(2, 2, 5, 5));
+        legendPanel.setBackground(new Color(50, 50, 50));
+        legendPanel.add(createLegendItem(new Color(105, 105, 105), "Normal"));
+        legendPanel.add(createLegendItem(new Color(60, 179, 113), "Grass(1)"));
+        legendPanel.add(createLegendItem(new Color(205, 133, 63), "Mud(5)"));
+        legendPanel.add(createLegendItem(new Color(70, 130, 180), "Water(10)"));
+        gbc.gridy++;
+        sidebar.add(legendPanel, gbc);
+
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+
+        JPanel statsPanel = new JPanel(new GridLayout(3, 2));
+        statsPanel.setBackground(new Color(50, 50, 50));
+        statsPanel.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(Color.GRAY), "Statistics",
+                0, 0, new Font("SansSerif", Font.PLAIN, 12), Color.LIGHT_GRAY));
+
+        gamePanel.lblAlgo = createDataLabel("-", Color.CYAN);
+        gamePanel.lblCurrentCost = createDataLabel("0", Color.YELLOW);
+        gamePanel.lblFinalCost = createDataLabel("-", Color.GREEN);
+
+        statsPanel.add(createSmallLabel("Algorithm:")); statsPanel.add(gamePanel.lblAlgo);
+        statsPanel.add(createSmallLabel("Live Cost:")); statsPanel.add(gamePanel.lblCurrentCost);
+        statsPanel.add(createSmallLabel("Final Cost:")); statsPanel.add(gamePanel.lblFinalCost);
+
+        gbc.gridy++;
+        sidebar.add(statsPanel, gbc);
+        gbc.gridy++;
+        gamePanel.metricsPanel = new MetricsPanel();
+        sidebar.add(gamePanel.metricsPanel, gbc);
+        gbc.gridy++;
+        gamePanel.tracePanel = new TracePanel(gamePanel);
+        sidebar.add(gamePanel.tracePanel, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(10), gbc);
+        gamePanel.lblStatus = new JLabel("Ready", SwingConstants.CENTER);
+        gamePanel.lblStatus.setForeground(Color.WHITE);
+        gamePanel.lblStatus.setFont(new Font("Segoe UI", Font.ITALIC, 14));
+        sidebar.add(gamePanel.lblStatus, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+        sidebar.add(createHeaderLabel("Playback Speed"), gbc);
+
+        gbc.gridy++;
+        JComboBox<String> cmbSpeed = new JComboBox<>(SPEEDS);
+        cmbSpeed.addActionListener(e -> gamePanel.setSpeed(cmbSpeed.getSelectedIndex()));
+        sidebar.add(cmbSpeed, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+        sidebar.add(createHeaderLabel("Unweighted Search"), gbc);
+
+        gbc.gridy++;
+        JButton btnBFS = createStyledButton("BFS", new Color(52, 152, 219));
+        btnBFS.addActionListener(e -> gamePanel.startSolving("BFS"));
+        sidebar.add(btnBFS, gbc);
+
+        gbc.gridy++;
+        JButton btnDFS = createStyledButton("DFS", new Color(155, 89, 182));
+        btnDFS.addActionListener(e -> gamePanel.startSolving("DFS"));
+        sidebar.add(btnDFS, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+        sidebar.add(createHeaderLabel("Weighted Search"), gbc);
+
+        gbc.gridy++;
+        JButton btnDijkstra = createStyledButton("Dijkstra", new Color(230, 126, 34));
+        btnDijkstra.addActionListener(e -> gamePanel.startSolving("Dijkstra"));
+        sidebar.add(btnDijkstra, gbc);
+
+        gbc.gridy++;
+        JButton btnAStar = createStyledButton("A-Star", new Color(192, 57, 43));
+        btnAStar.addActionListener(e -> gamePanel.startSolving("A*"));
+        sidebar.add(btnAStar, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+        sidebar.add(createHeaderLabel("Advanced Search"), gbc);
+
+        gbc.gridy++;
+        JPanel advancedPanel = new JPanel(new BorderLayout(5, 0));
+        advancedPanel.setBackground(new Color(50, 50, 50));
+        JComboBox<String> cmbAdvanced = new JComboBox<>(ADVANCED_ALGOS);
+        JButton btnAdvanced = createStyledButton("Run", new Color(22, 160, 133));
+        btnAdvanced.addActionListener(e -> gamePanel.startSolving((String) cmbAdvanced.getSelectedItem()));
+        advancedPanel.add(cmbAdvanced, BorderLayout.CENTER);
+        advancedPanel.add(btnAdvanced, BorderLayout.EAST);
+        sidebar.add(advancedPanel, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(15), gbc);
+        sidebar.add(createHeaderLabel("View (Ctrl+Wheel zooms)"), gbc);
+
+        gbc.gridy++;
+        JPanel viewPanel = new JPanel(new GridLayout(1, 3, 5, 0));
+        viewPanel.setBackground(new Color(50, 50, 50));
+        JButton btnZoomOut = createStyledButton("-", new Color(127, 140, 141));
+        btnZoomOut.addActionListener(e -> gamePanel.zoom(-1));
+        JButton btnZoomIn = createStyledButton("+", new Color(127, 140, 141));
+        btnZoomIn.addActionListener(e -> gamePanel.zoom(1));
+        JComboBox<String> cmbSize = new JComboBox<>(GRID_SIZES);
+        cmbSize.addActionListener(e -> {
+            String[] size = ((String) cmbSize.getSelectedItem()).split("x");
+            gamePanel.setGridSize(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        });
+        viewPanel.add(btnZoomOut);
+        viewPanel.add(btnZoomIn);
+        viewPanel.add(cmbSize);
+        sidebar.add(viewPanel, gbc);
+        gbc.gridy++;
+        sidebar.add(Box.createVerticalStrut(25), gbc);
+        JButton btnMaze = createStyledButton("Generate New Prim Maze", new Color(39, 174, 96));
+        btnMaze.setFont(new Font("Segoe UI", Font.BOLD, 14)); // Font sedikit lebih tebal
+        btnMaze.addActionListener(e -> gamePanel.resetMaze());
+        sidebar.add(btnMaze, gbc);
+
+        gbc.gridy++;
+        JPanel filePanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        filePanel.setBackground(new Color(50, 50, 50));
+        JFileChooser chooser = new JFileChooser();
+        JCheckBox chkCompress = new JCheckBox("Compress");
+        JButton btnLoad = createStyledButton("Load", new Color(41, 128, 185));
+        btnLoad.addActionListener(e -> {
+            chooser.setAccessory(null);
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                gamePanel.loadMaze(chooser.getSelectedFile().toPath());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Load failed", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        JButton btnSave = createStyledButton("Save", new Color(41, 128, 185));
+        btnSave.addActionListener(e -> {
+            chooser.setAccessory(chkCompress);
+            if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                gamePanel.saveMaze(chooser.getSelectedFile().toPath(), chkCompress.isSelected());
+            } catch (IOException | IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Save failed", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        filePanel.add(btnLoad);
+        filePanel.add(btnSave);
+        sidebar.add(filePanel, gbc);
+
+        JScrollPane sideScroll = new JScrollPane(sidebar,
+                ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        sideScroll.setBorder(null);
+        sideScroll.setPreferredSize(new Dimension(260, gamePanel.PAN_HEIGHT));
+        frame.add(sideScroll, BorderLayout.EAST);
+        frame.pack();
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    private static JLabel createHeaderLabel(String text) {
+        JLabel l = new JLabel(text, SwingConstants.CENTER);
+        l.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        l.setForeground(Color.LIGHT_GRAY);
+        return l;
+    }
+
+    private static JLabel createSmallLabel(String text) {
+        JLabel l = new JLabel(text);
+        l.setForeground(Color.LIGHT_GRAY);
+        return l;
+    }
+
+    private static JLabel createDataLabel(String text, Color c) {
+        JLabel l = new JLabel(text);
+        l.setFont(new Font("Consolas", Font.BOLD, 14));
+        l.setForeground(c);
+        return l;
+    }
+
+    private static JPanel createLegendItem(Color c, String text) {
+        JPanel p = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        p.setBackground(new Color(50, 50, 50));
+        JPanel box = new JPanel();
+        box.setPreferredSize(new Dimension(12, 12));
+        box.setBackground(c);
+        JLabel l = new JLabel(text);
+        l.setForeground(Color.WHITE);
+        l.setFont(new Font("SansSerif", Font.PLAIN, 11));
+        p.add(box); p.add(l);
+        return p;
+    }
+
+    private static JButton createStyledButton(String text, Color bg) {
+        JButton btn = new JButton(text);
+        btn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        btn.setBackground(bg);
+        btn.setForeground(Color.WHITE);
+        btn.setFocusPainted(false);
+        btn.setBorderPainted(false); 
+        btn.setOpaque(true);
+        btn.setContentAreaFilled(false);
+        btn.setOpaque(true);
+        btn.setBorder(BorderFactory.createCompoundBorder(
+                new LineBorder(bg.darker(), 1),
+                new EmptyBorder(8, 15, 8, 15)
+        ));
+
+        btn.setUI(new javax.swing.plaf.basic.BasicButtonUI() {
+            @Override
+            public void paint(Graphics g, JComponent c) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setColor(c.getBackground());
+                g2.fillRoundRect(0, 0, c.getWidth(), c.getHeight(), 10, 10); // Rounded corners
+                super.paint(g2, c);
+                g2.dispose();
+            }
+        });
+        return btn;
+    }
+}
@@ -0,0 +1,102 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.Random;
+
+// Headless maze construction shared by the Swing panel, the CLI and benchmarks.
+public class MazeGenerator {
+    private final Random rand;
+
+    public MazeGenerator(Random rand) {
+        this.rand = rand;
+    }
+
+    public MazeGenerator(long seed) {
+        this(new Random(seed));
+    }
+
+    public MazeGrid generate(int cols, int rows) {
+        MazeMetrics.Generation metrics = MazeMetrics.generating("Prim", cols, rows);
+        MazeGrid grid = new MazeGrid(cols, rows);
+        generatePrimsMaze(grid);
+        assignTerrains(grid);
+        metrics.finish();
+        return grid;
+    }
+
+    // Randomized Prim's in linear time: the frontier is an int array with swap-remove,
+    // membership lives in bitsets and neighbors are enumerated into a reused buffer.
+    public void generatePrimsMaze(MazeGrid grid) {
+        int size = grid.size();
+        int[] frontier = new int[size];
+        int frontierSize = 0;
+        BitSet visited = new BitSet(size);
+        BitSet inFrontier = new BitSet(size);
+        int[] neighbors = new int[4];
+        int[] visitedNeighbors = new int[4];
+
+        int start = rand.nextInt(size);
+        visited.set(start);
+        int count = getPotentialNeighbors(grid, start, neighbors);
+        for (int i = 0; i < count; i++) {
+            frontier[frontierSize++] = neighbors[i];
+            inFrontier.set(neighbors[i]);
+        }
+
+        while (frontierSize > 0) {
+            int randIndex = rand.nextInt(frontierSize);
+            int current = frontier[randIndex];
+            frontier[randIndex] = frontier[--frontierSize];
+            inFrontier.clear(current);
+
+            count = getPotentialNeighbors(grid, current, neighbors);
+            int visitedCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (visited.get(neighbors[i])) visitedNeighbors[visitedCount++] = neighbors[i];
+            }
+
+            if (visitedCount > 0) {
+                int connected = visitedNeighbors[rand.nextInt(visitedCount)];
+                grid.removeWalls(current, connected);
+                visited.set(current);
+
+                for (int i = 0; i < count; i++) {
+                    int n = neighbors[i];
+                    if (!visited.get(n) && !inFrontier.get(n)) {
+                        frontier[frontierSize++] = n;
+                        inFrontier.set(n);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < (size * 0.15); i++) {
+            int c1 = rand.nextInt(size);
+            count = getPotentialNeighbors(grid, c1, neighbors);
+            if (count > 0) grid.removeWalls(c1, neighbors[rand.nextInt(count)]);
+        }
+    }
+
+    public void assignTerrains(MazeGrid grid) {
+        for (int i = 0; i < grid.size(); i++) {
+            grid.setTerrainCost(i, terrainFor(rand.nextDouble()));
+        }
+    }
+
+    // 40% Default, 30% Grass, 20% Mud, 10% Water
+    static int terrainFor(double chance) {
+        if (chance < 0.40) return 0;
+        else if (chance < 0.70) return 1;
+        else if (chance < 0.90) return 5;
+        else return 10;
+    }
+
+    private int getPotentialNeighbors(MazeGrid grid, int c, int[] out) {
+        int n = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int idx = grid.neighbor(c, dir);
+            if (idx != -1) out[n++] = idx;
+        }
+        return n;
+    }
+}
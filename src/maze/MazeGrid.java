@@ -0,0 +1,177 @@
+package maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class MazeGrid {
+    // Wall bits by direction: 0=Top, 1=Right, 2=Bottom, 3=Left
+    public static final int TOP = 1, RIGHT = 2, BOTTOM = 4, LEFT = 8, ALL_WALLS = 15;
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    public final int cols, rows;
+    final byte[] walls;
+    final byte[] terrain;
+    private int version;
+    private int minTerrain = -1;
+    private final ArrayList<MazeEditListener> listeners = new ArrayList<>();
+
+    public MazeGrid(int cols, int rows) {
+        this(cols, rows, new byte[cols * rows], new byte[cols * rows]);
+        Arrays.fill(walls, (byte) ALL_WALLS);
+    }
+
+    // Wraps existing cell arrays. Subclasses that keep the cells elsewhere pass null and
+    // override the storage hooks below.
+    MazeGrid(int cols, int rows, byte[] walls, byte[] terrain) {
+        this.cols = cols;
+        this.rows = rows;
+        this.walls = walls;
+        this.terrain = terrain;
+    }
+
+    // Storage hooks; every wall and terrain access goes through these.
+    int readWalls(int index) {
+        return walls[index];
+    }
+
+    void writeWalls(int index, int mask) {
+        walls[index] = (byte) mask;
+    }
+
+    int readTerrain(int index) {
+        return terrain[index];
+    }
+
+    void writeTerrain(int index, int cost) {
+        terrain[index] = (byte) cost;
+    }
+
+    // Bumped on every wall or terrain change, so derived structures can tell they are stale.
+    public int version() {
+        return version;
+    }
+
+    public int size() {
+        return cols * rows;
+    }
+
+    public int getIndex(int c, int r) {
+        if (c < 0 || r < 0 || c >= cols || r >= rows) return -1;
+        return c + r * cols;
+    }
+
+    public int col(int index) {
+        return index % cols;
+    }
+
+    public int row(int index) {
+        return index / cols;
+    }
+
+    // Index of the cell across wall `dir`, or -1 at the border.
+    public int neighbor(int index, int dir) {
+        return getIndex(col(index) + DX[dir], row(index) + DY[dir]);
+    }
+
+    public boolean hasWall(int index, int dir) {
+        return (readWalls(index) & (1 << dir)) != 0;
+    }
+
+    public int wallMask(int index) {
+        return readWalls(index);
+    }
+
+    public int terrainCost(int index) {
+        return readTerrain(index);
+    }
+
+    // Cheapest terrain on the grid, i.e. the smallest step any route can take. Scanned on
+    // first use; edits lower it at once and only rescan when the last cheapest cell rises.
+    public int minTerrainCost() {
+        if (minTerrain < 0) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < size() && min > 0; i++) min = Math.min(min, readTerrain(i));
+            minTerrain = min;
+        }
+        return minTerrain;
+    }
+
+    public void setTerrainCost(int index, int cost) {
+        int old = readTerrain(index);
+        writeTerrain(index, cost);
+        version++;
+        if (cost < minTerrain) minTerrain = cost;
+        else if (old == minTerrain && cost > old) minTerrain = -1;
+        if (!listeners.isEmpty() && old != cost) {
+            for (MazeEditListener l : listeners) l.terrainChanged(index, old, cost);
+        }
+    }
+
+    public void removeWalls(int a, int b) {
+        setWall(a, b, false);
+    }
+
+    public void addWalls(int a, int b) {
+        setWall(a, b, true);
+    }
+
+    private void setWall(int a, int b, boolean closed) {
+        int x = col(a) - col(b);
+        int y = row(a) - row(b);
+        int wallA, wallB;
+        if (x == 1) { wallA = LEFT; wallB = RIGHT; }
+        else if (x == -1) { wallA = RIGHT; wallB = LEFT; }
+        else if (y == 1) { wallA = TOP; wallB = BOTTOM; }
+        else if (y == -1) { wallA = BOTTOM; wallB = TOP; }
+        else return;
+        boolean wasClosed = (readWalls(a) & wallA) != 0;
+        if (closed) { writeWalls(a, readWalls(a) | wallA); writeWalls(b, readWalls(b) | wallB); }
+        else { writeWalls(a, readWalls(a) & ~wallA); writeWalls(b, readWalls(b) & ~wallB); }
+        version++;
+        if (!listeners.isEmpty() && wasClosed != closed) {
+            for (MazeEditListener l : listeners) l.wallChanged(a, b, !closed);
+        }
+    }
+
+    // Heap copy of the cells for searches that must not see later edits. The copy is not to
+    // be edited itself, so it drops edit listeners: solvers that register on their first
+    // solve (HPA*, D* Lite, landmarks) can then share it across threads.
+    public MazeGrid snapshot() {
+        int n = size();
+        byte[] w = new byte[n], t = new byte[n];
+        for (int i = 0; i < n; i++) {
+            w[i] = (byte) readWalls(i);
+            t[i] = (byte) readTerrain(i);
+        }
+        return new MazeGrid(cols, rows, w, t) {
+            @Override
+            public void addEditListener(MazeEditListener listener) {}
+
+            @Override
+            public void removeEditListener(MazeEditListener listener) {}
+        };
+    }
+
+    // Listeners hear about walls and terrain that actually changed, on the editing thread.
+    public void addEditListener(MazeEditListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeEditListener(MazeEditListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Writes reachable neighbors of `index` into `out` and returns how many there are.
+    public int getValidNeighbors(int index, int[] out) {
+        int n = 0;
+        int c = col(index), r = row(index);
+        int w = readWalls(index);
+        if ((w & TOP) == 0 && r > 0) out[n++] = index - cols;
+        if ((w & RIGHT) == 0 && c < cols - 1) out[n++] = index + 1;
+        if ((w & BOTTOM) == 0 && r < rows - 1) out[n++] = index + cols;
+        if ((w & LEFT) == 0 && c > 0) out[n++] = index - 1;
+        return n;
+    }
+}
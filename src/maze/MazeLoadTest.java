@@ -0,0 +1,124 @@
+package maze;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Load-test client for MazeServer: `clients` concurrent connections issue `requests` solve
+// requests (POST /batch of `batch` queries each when batch > 1) against one generated maze,
+// then report throughput and latency percentiles. "local" starts a server in this JVM.
+// Usage: java maze.MazeLoadTest [url|local=local] [clients=64] [requests=20000] [algo=A*] [size=256] [batch=1] [seed=1]
+public class MazeLoadTest {
+    private static final Pattern FIELD = Pattern.compile("\"(id|cols|rows)\":\"?([^,\"}]+)");
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "local";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        String algo = args.length > 3 ? args[3] : "A*";
+        int size = args.length > 4 ? Integer.parseInt(args[4]) : 256;
+        int batch = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+
+        MazeServer local = target.equals("local") ? new MazeServer(0, 1L << 26, 1L << 24) : null;
+        String base = local != null ? "http://localhost:" + local.port() : target.replaceAll("/+$", "");
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            String maze = send(http, HttpRequest.newBuilder(URI.create(
+                    base + "/maze?cols=" + size + "&rows=" + size + "&seed=" + seed)).build());
+            String id = field(maze, "id");
+            int cells = Integer.parseInt(field(maze, "cols")) * Integer.parseInt(field(maze, "rows"));
+            String solve = base + "/solve?maze=" + id + "&algo=" + URLEncoder.encode(algo, StandardCharsets.UTF_8);
+            String post = base + "/batch?maze=" + id + "&algo=" + URLEncoder.encode(algo, StandardCharsets.UTF_8);
+
+            Random rand = new Random(seed);
+            HttpRequest[] queue = new HttpRequest[requests];
+            for (int i = 0; i < requests; i++) {
+                if (batch <= 1) {
+                    queue[i] = HttpRequest.newBuilder(URI.create(solve + "&start=" + rand.nextInt(cells)
+                            + "&end=" + rand.nextInt(cells))).build();
+                } else {
+                    StringBuilder body = new StringBuilder();
+                    for (int q = 0; q < batch; q++) body.append(rand.nextInt(cells)).append(' ').append(rand.nextInt(cells)).append('\n');
+                    queue[i] = HttpRequest.newBuilder(URI.create(post))
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+                }
+            }
+
+            // A short warmup, so the JIT and connection setup stay out of the numbers.
+            run(http, Arrays.copyOf(queue, Math.min(requests, 500)), clients);
+            long begin = System.nanoTime();
+            long[] latency = run(http, queue, clients);
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            long failed = Arrays.stream(latency).filter(l -> l < 0).count();
+            long[] sorted = Arrays.stream(latency).filter(l -> l >= 0).sorted().toArray();
+
+            System.out.printf("%s on %s (%dx%d), %d clients%s: %d requests in %.2f s, %d failed%n", algo, id, size, size,
+                    clients, local == null ? "" : local.usesVirtualThreads() ? ", virtual threads" : ", thread pool",
+                    requests, seconds, failed);
+            System.out.printf("%.0f requests/s, %.0f queries/s%n", requests / seconds, (double) requests * Math.max(1, batch) / seconds);
+            System.out.printf("latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+                    percentile(sorted, 100));
+        } finally {
+            if (local != null) local.close();
+        }
+    }
+
+    // Sends every request from `clients` concurrent workers; each latency in nanoseconds,
+    // or -1 for a request that failed.
+    private static long[] run(HttpClient http, HttpRequest[] queue, int clients) throws InterruptedException {
+        long[] latency = new long[queue.length];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService virtual = BatchSolver.virtualThreads();
+        ExecutorService workers = virtual != null ? virtual : Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            workers.execute(() -> {
+                for (int i; (i = next.getAndIncrement()) < queue.length; ) {
+                    long t = System.nanoTime();
+                    try {
+                        send(http, queue[i]);
+                        latency[i] = System.nanoTime() - t;
+                    } catch (IOException e) {
+                        latency[i] = -1;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.DAYS);
+        return latency;
+    }
+
+    private static String send(HttpClient http, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) throw new IOException(response.statusCode() + " " + response.body());
+        return response.body();
+    }
+
+    private static String field(String json, String name) {
+        Matcher m = FIELD.matcher(json);
+        while (m.find()) if (m.group(1).equals(name)) return m.group(2);
+        throw new IllegalStateException("no " + name + " in " + json);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))] / 1e6;
+    }
+}
@@ -0,0 +1,283 @@
+package maze;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+// Instrumentation for solves and maze generation. Each run emits a JFR event (maze.Solve,
+// maze.Generate; free when no recording is on), adds to LongAdder counters that solver
+// threads update without contention and JMX reads as "maze:type=Metrics", and solves keep
+// the last run of each algorithm for the sidebar's comparison table. Batch and server
+// solves go through solveCounted(), which skips that table and its lock.
+public final class MazeMetrics implements MazeMetricsMXBean {
+    public static final MazeMetrics INSTANCE = new MazeMetrics();
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final LongAdder solves = new LongAdder(), failed = new LongAdder(), expanded = new LongAdder();
+    private final LongAdder relaxations = new LongAdder(), solveNanos = new LongAdder(), allocated = new LongAdder();
+    private final LongAdder generations = new LongAdder(), cells = new LongAdder(), generateNanos = new LongAdder();
+    private final LongAccumulator maxFrontier = new LongAccumulator(Math::max, 0);
+    private final ConcurrentHashMap<String, LongAdder> byAlgorithm = new ConcurrentHashMap<>();
+    private final Map<String, Run> lastRuns = new LinkedHashMap<>();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName("maze:type=Metrics"));
+        } catch (Exception | LinkageError e) {
+            // No platform MBean server (or already registered by another class loader).
+        }
+    }
+
+    private MazeMetrics() {}
+
+    @Name("maze.Solve")
+    @Label("Maze Solve")
+    @Category("Maze")
+    static class SolveEvent extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Columns") int cols;
+        @Label("Rows") int rows;
+        @Label("Found") boolean found;
+        @Label("Cost") int cost;
+        @Label("Nodes Expanded") int expanded;
+        @Label("Max Frontier") int maxFrontier;
+        @Label("Relaxations") int relaxations;
+        @Label("Allocated") @DataAmount long allocatedBytes;
+        // The event's duration is wall time; these split off what the listener spent waiting.
+        @Label("Search Time") @Timespan long searchNanos;
+        @Label("Paused") @Timespan long pausedNanos;
+    }
+
+    @Name("maze.Generate")
+    @Label("Maze Generation")
+    @Category("Maze")
+    static class GenerateEvent extends Event {
+        @Label("Generator") String generator;
+        @Label("Columns") int cols;
+        @Label("Rows") int rows;
+        @Label("Allocated") @DataAmount long allocatedBytes;
+    }
+
+    // One finished solve as seen by the caller's thread.
+    public static final class Run {
+        public final SolveResult result;
+        public final int cols, rows;
+        public final long nanos;
+        public final long allocatedBytes;
+
+        Run(SolveResult result, int cols, int rows, long nanos, long allocatedBytes) {
+            this.result = result;
+            this.cols = cols;
+            this.rows = rows;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public double nodesPerSecond() {
+            return nanos == 0 ? 0 : result.expanded / (nanos / 1e9);
+        }
+    }
+
+    // Timing for a generator; finish() once the maze is built.
+    public static final class Generation {
+        private final GenerateEvent event = new GenerateEvent();
+        private final long begin = System.nanoTime(), bytes = allocatedBytes();
+
+        Generation(String generator, int cols, int rows) {
+            event.begin();
+            event.generator = generator;
+            event.cols = cols;
+            event.rows = rows;
+        }
+
+        public void finish() {
+            long nanos = System.nanoTime() - begin;
+            event.allocatedBytes = allocatedBytes() - bytes;
+            event.commit();
+            INSTANCE.generations.increment();
+            INSTANCE.cells.add((long) event.cols * event.rows);
+            INSTANCE.generateNanos.add(nanos);
+        }
+    }
+
+    public static Generation generating(String generator, int cols, int rows) {
+        return new Generation(generator, cols, rows);
+    }
+
+    // Runs the search and records it everywhere; `solver` must not be shared with another thread.
+    public static Run solve(MazeSolver solver, MazeGrid maze, int start, int end, SearchListener listener) {
+        return solve(solver, maze, start, end, listener, () -> 0);
+    }
+
+    // As above for a listener that can hold the search up, e.g. until a display catches up:
+    // `pausedNanos` gives the time it spent waiting, read once the solve returns, and that
+    // time is left out of the solve time, the counters and nodes/s.
+    public static Run solve(MazeSolver solver, MazeGrid maze, int start, int end, SearchListener listener,
+                            LongSupplier pausedNanos) {
+        SolveEvent event = new SolveEvent();
+        SolveResult result = measure(event, solver, maze, start, end, listener, pausedNanos);
+        Run run = new Run(result, maze.cols, maze.rows, event.searchNanos, event.allocatedBytes);
+        INSTANCE.count(result, run.nanos, run.allocatedBytes);
+        synchronized (INSTANCE.lastRuns) {
+            INSTANCE.lastRuns.remove(result.algorithm);
+            INSTANCE.lastRuns.put(result.algorithm, run);
+        }
+        return run;
+    }
+
+    // For many threads solving at once: the counters and the JFR event only, with no Run and
+    // no place in lastRuns(). `nanos` is given the solve time.
+    public static SolveResult solveCounted(MazeSolver solver, MazeGrid maze, int start, int end, LongConsumer nanos) {
+        SolveEvent event = new SolveEvent();
+        SolveResult result = measure(event, solver, maze, start, end, SearchListener.NONE, () -> 0);
+        INSTANCE.count(result, event.searchNanos, event.allocatedBytes);
+        nanos.accept(event.searchNanos);
+        return result;
+    }
+
+    // Runs the search inside `event`, which is left holding its search time and allocation
+    // whether or not it was committed.
+    private static SolveResult measure(SolveEvent event, MazeSolver solver, MazeGrid maze, int start, int end,
+                                       SearchListener listener, LongSupplier pausedNanos) {
+        event.begin();
+        long bytes = allocatedBytes(), begin = System.nanoTime();
+        SolveResult result = solver.solve(maze, start, end, listener);
+        long paused = pausedNanos.getAsLong();
+        event.searchNanos = Math.max(0, System.nanoTime() - begin - paused);
+        event.pausedNanos = paused;
+        event.allocatedBytes = allocatedBytes() - bytes;
+        if (event.shouldCommit()) {
+            event.algorithm = result.algorithm;
+            event.cols = maze.cols;
+            event.rows = maze.rows;
+            event.found = result.found;
+            event.cost = result.cost;
+            event.expanded = result.expanded;
+            event.maxFrontier = result.maxFrontier;
+            event.relaxations = result.relaxations;
+            event.commit();
+        }
+        return result;
+    }
+
+    private void count(SolveResult r, long nanos, long bytes) {
+        solves.increment();
+        if (!r.found) failed.increment();
+        expanded.add(r.expanded);
+        relaxations.add(r.relaxations);
+        maxFrontier.accumulate(r.maxFrontier);
+        solveNanos.add(nanos);
+        allocated.add(Math.max(0, bytes));
+        byAlgorithm.computeIfAbsent(r.algorithm, a -> new LongAdder()).increment();
+    }
+
+    // Last run of every algorithm, oldest first.
+    public static Run[] lastRuns() {
+        synchronized (INSTANCE.lastRuns) {
+            return INSTANCE.lastRuns.values().toArray(new Run[0]);
+        }
+    }
+
+    // Bytes allocated so far by the calling thread, or 0 where the JVM cannot tell.
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    @Override
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getFailedSolves() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return expanded.sum();
+    }
+
+    @Override
+    public long getRelaxations() {
+        return relaxations.sum();
+    }
+
+    @Override
+    public long getMaxFrontier() {
+        return maxFrontier.get();
+    }
+
+    @Override
+    public long getSolveMillis() {
+        return solveNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public double getNodesPerSecond() {
+        long nanos = solveNanos.sum();
+        return nanos == 0 ? 0 : expanded.sum() / (nanos / 1e9);
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocated.sum();
+    }
+
+    @Override
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    @Override
+    public long getCellsGenerated() {
+        return cells.sum();
+    }
+
+    @Override
+    public long getGenerateMillis() {
+        return generateNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public Map<String, Long> getSolvesByAlgorithm() {
+        Map<String, Long> counts = new TreeMap<>();
+        byAlgorithm.forEach((algo, n) -> counts.put(algo, n.sum()));
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder a : new LongAdder[] {solves, failed, expanded, relaxations, solveNanos, allocated,
+                generations, cells, generateNanos}) a.reset();
+        maxFrontier.reset();
+        byAlgorithm.clear();
+        synchronized (lastRuns) {
+            lastRuns.clear();
+        }
+    }
+}
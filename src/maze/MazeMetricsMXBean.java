@@ -0,0 +1,32 @@
+package maze;
+
+import java.util.Map;
+
+// Process-wide search and generation counters, registered as "maze:type=Metrics".
+public interface MazeMetricsMXBean {
+    long getSolves();
+
+    long getFailedSolves();
+
+    long getNodesExpanded();
+
+    long getRelaxations();
+
+    long getMaxFrontier();
+
+    long getSolveMillis();
+
+    double getNodesPerSecond();
+
+    long getAllocatedBytes();
+
+    long getGenerations();
+
+    long getCellsGenerated();
+
+    long getGenerateMillis();
+
+    Map<String, Long> getSolvesByAlgorithm();
+
+    void reset();
+}
@@ -0,0 +1,111 @@
+package maze;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Pre-aggregated zoomed-out views of a maze. Level k has one pixel per 2^k x 2^k block of
+// cells: the terrain image holds the blocks' average terrain color and the visited image a
+// white overlay whose alpha grows with the share of visited cells. Levels start at 1, since
+// at one pixel per cell the renderer draws cells directly.
+public class MazeMipmap {
+    private final MazeGrid grid;
+    private final int levels;
+    private final BufferedImage[] terrain, visited;
+    private final int[][] visitedCount;
+    private final int visitedAlpha;
+
+    public MazeMipmap(MazeGrid grid, int visitedAlpha) {
+        this.grid = grid;
+        this.visitedAlpha = visitedAlpha;
+        int k = 1;
+        while ((1 << k) < Math.max(grid.cols, grid.rows)) k++;
+        levels = k + 1;
+        terrain = new BufferedImage[levels];
+        visited = new BufferedImage[levels];
+        visitedCount = new int[levels][];
+        for (int level = 1; level < levels; level++) {
+            int w = blocks(grid.cols, level), h = blocks(grid.rows, level);
+            terrain[level] = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            visited[level] = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            visitedCount[level] = new int[w * h];
+        }
+        for (int r = 0; r < terrain[1].getHeight(); r++)
+            for (int c = 0; c < terrain[1].getWidth(); c++) updateTerrain(c, r);
+    }
+
+    private static int blocks(int cells, int level) {
+        return (cells + (1 << level) - 1) >> level;
+    }
+
+    // Coarsest level; a single pixel covers the whole maze.
+    public int maxLevel() {
+        return levels - 1;
+    }
+
+    public BufferedImage terrain(int level) {
+        return terrain[level];
+    }
+
+    public BufferedImage visited(int level) {
+        return visited[level];
+    }
+
+    public void terrainChanged(int index) {
+        updateTerrain(grid.col(index) >> 1, grid.row(index) >> 1);
+    }
+
+    // Recomputes level-1 block (bc, br) from the grid and propagates the change upward,
+    // averaging each coarser pixel from the (up to four) pixels below it.
+    private void updateTerrain(int bc, int br) {
+        int red = 0, green = 0, blue = 0, n = 0;
+        for (int r = br * 2; r < Math.min(br * 2 + 2, grid.rows); r++) {
+            for (int c = bc * 2; c < Math.min(bc * 2 + 2, grid.cols); c++) {
+                Color color = Cell.terrainColor(grid.terrainCost(grid.getIndex(c, r)));
+                red += color.getRed();
+                green += color.getGreen();
+                blue += color.getBlue();
+                n++;
+            }
+        }
+        terrain[1].setRGB(bc, br, (red / n) << 16 | (green / n) << 8 | blue / n);
+        for (int level = 2; level < levels; level++) {
+            BufferedImage below = terrain[level - 1];
+            bc >>= 1;
+            br >>= 1;
+            red = green = blue = n = 0;
+            for (int y = br * 2; y < Math.min(br * 2 + 2, below.getHeight()); y++) {
+                for (int x = bc * 2; x < Math.min(bc * 2 + 2, below.getWidth()); x++) {
+                    int rgb = below.getRGB(x, y);
+                    red += rgb >> 16 & 0xFF;
+                    green += rgb >> 8 & 0xFF;
+                    blue += rgb & 0xFF;
+                    n++;
+                }
+            }
+            terrain[level].setRGB(bc, br, (red / n) << 16 | (green / n) << 8 | blue / n);
+        }
+    }
+
+    public void markVisited(int index) {
+        int c = grid.col(index), r = grid.row(index);
+        for (int level = 1; level < levels; level++) {
+            int bc = c >> level, br = r >> level;
+            int w = visited[level].getWidth();
+            int count = ++visitedCount[level][bc + br * w];
+            int cells = (Math.min((bc + 1) << level, grid.cols) - (bc << level))
+                    * (Math.min((br + 1) << level, grid.rows) - (br << level));
+            int alpha = visitedAlpha * count / cells;
+            visited[level].setRGB(bc, br, alpha << 24 | 0xFFFFFF);
+        }
+    }
+
+    public void clearVisited() {
+        for (int level = 1; level < levels; level++) {
+            Arrays.fill(visitedCount[level], 0);
+            BufferedImage img = visited[level];
+            int[] clear = new int[img.getWidth()];
+            for (int y = 0; y < img.getHeight(); y++) img.setRGB(0, y, clear.length, 1, clear, 0, clear.length);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Out-of-core tools for mazes larger than the heap; everything goes through mapped files.
+// Usage: java maze.MazeOutOfCore generate <file> <cols> <rows> [seed=1]
+//        java maze.MazeOutOfCore solve <file> [algo=Dijkstra|BFS] [workDir=.]
+public class MazeOutOfCore {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: generate <file> <cols> <rows> [seed] | solve <file> [Dijkstra|BFS] [workDir]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[1]);
+        long begin = System.nanoTime();
+        if (args[0].equals("generate")) {
+            int cols = Integer.parseInt(args[2]);
+            int rows = Integer.parseInt(args[3]);
+            long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+            new EllerMazeGenerator(seed).generate(file, cols, rows);
+            double sec = (System.nanoTime() - begin) / 1e9;
+            System.out.printf(Locale.ROOT, "generated %dx%d in %.1f s (%.1f M cells/s)%n",
+                    cols, rows, sec, (double) cols * rows / sec / 1e6);
+        } else {
+            String algo = args.length > 2 ? args[2] : "Dijkstra";
+            Path workDir = Paths.get(args.length > 3 ? args[3] : ".");
+            LargeMaze maze = LargeMaze.open(file);
+            ExternalSearch.Result result = new ExternalSearch(maze, !algo.equals("BFS"), workDir).solve();
+            double sec = (System.nanoTime() - begin) / 1e9;
+            System.out.printf(Locale.ROOT, "%s on %dx%d: %s in %.1f s (%.1f M expansions/s)%n",
+                    algo, maze.cols, maze.rows, result, sec, result.expanded / sec / 1e6);
+        }
+    }
+}
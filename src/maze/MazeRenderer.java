@@ -0,0 +1,280 @@
+package maze;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cached, zoomable drawing of a maze for MazeGame. At one pixel per cell or more, the maze
+// is cut into square chunks of cells, each with an image of its terrain and walls and a
+// transparent image of its visited cells, kept in an LRU cache. Edits drop the affected
+// chunk images and expansions fill one cell of an overlay, so a repaint is a few blits.
+// Zoomed out further, one pixel covers a 2^k block and the precomputed MazeMipmap level is
+// blitted instead. Either way, a paint touches only as many chunks or blocks as fit in the
+// clip, however large the maze is.
+//
+// Marked cells can also carry a tint other than the visited color, for frontiers and
+// trace diffs; the mipmap shows every marked cell alike.
+public class MazeRenderer implements MazeEditListener {
+    private static final long CACHE_PIXELS = 8 << 20;
+    // Walls are left out below this many pixels per cell; they would cover the terrain.
+    private static final int WALL_MIN = 4;
+
+    private final MazeGrid grid;
+    private final Color visitedColor;
+    private final BitSet visited = new BitSet();
+    // tinted[t - 1] holds the marked cells drawn in tints[t - 1] instead of visitedColor.
+    private Color[] tints = new Color[0];
+    private BitSet[] tinted = new BitSet[0];
+    private MazeMipmap mipmap;
+
+    private int cellSize = 1;
+    private int level;
+    // Chunk side in cells; at least 256 pixels so small zooms do not need thousands of blits.
+    private int chunk = 16;
+    private int chunkCols;
+    private BasicStroke wallStroke = Cell.wallStroke(1);
+    private int maxChunks;
+    private final LinkedHashMap<Integer, Chunk> chunks = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Chunk> eldest) {
+            return size() > maxChunks;
+        }
+    };
+
+    // Overlay of a chunk without visited cells; it is never drawn.
+    private static final BufferedImage VISITED_NONE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private static final class Chunk {
+        BufferedImage base, visited;
+    }
+
+    public MazeRenderer(MazeGrid grid, double scale, Color visitedColor) {
+        this.grid = grid;
+        this.visitedColor = visitedColor;
+        setScale(scale);
+        grid.addEditListener(this);
+    }
+
+    public void close() {
+        grid.removeEditListener(this);
+    }
+
+    // Pixels per cell: a whole number, or 1/2^k to show mipmap level k.
+    public void setScale(double scale) {
+        chunks.clear();
+        if (scale >= 1) {
+            cellSize = (int) scale;
+            level = 0;
+            chunk = Math.max(16, 256 / cellSize);
+            chunkCols = (grid.cols + chunk - 1) / chunk;
+            wallStroke = Cell.wallStroke(cellSize);
+            long chunkPixels = (long) chunk * cellSize * chunk * cellSize;
+            maxChunks = (int) Math.max(16, CACHE_PIXELS / chunkPixels);
+        } else {
+            cellSize = 0;
+            level = Math.min(maxLevel(), Math.max(1, (int) Math.round(Math.log(1 / scale) / Math.log(2))));
+            mipmap();
+        }
+    }
+
+    public double scale() {
+        return level == 0 ? cellSize : 1.0 / (1 << level);
+    }
+
+    // Coarsest mipmap level, at which the whole maze is one pixel.
+    public int maxLevel() {
+        int k = 1;
+        while ((1 << k) < Math.max(grid.cols, grid.rows)) k++;
+        return k;
+    }
+
+    public int width() {
+        return level == 0 ? grid.cols * cellSize : (grid.cols + (1 << level) - 1) >> level;
+    }
+
+    public int height() {
+        return level == 0 ? grid.rows * cellSize : (grid.rows + (1 << level) - 1) >> level;
+    }
+
+    // Cell under a panel pixel (the top-left cell of the block when zoomed out), or -1.
+    public int cellAt(int x, int y) {
+        if (x < 0 || y < 0) return -1;
+        return level == 0 ? grid.getIndex(x / cellSize, y / cellSize) : grid.getIndex(x << level, y << level);
+    }
+
+    public Rectangle cellBounds(int index) {
+        if (level == 0) return new Rectangle(grid.col(index) * cellSize, grid.row(index) * cellSize, cellSize, cellSize);
+        return new Rectangle(grid.col(index) >> level, grid.row(index) >> level, 1, 1);
+    }
+
+    public double centerX(int index) {
+        return level == 0 ? (grid.col(index) + 0.5) * cellSize : (grid.col(index) + 0.5) / (1 << level);
+    }
+
+    public double centerY(int index) {
+        return level == 0 ? (grid.row(index) + 0.5) * cellSize : (grid.row(index) + 0.5) / (1 << level);
+    }
+
+    public boolean isVisited(int index) {
+        return visited.get(index);
+    }
+
+    // Returns false if the cell was already marked.
+    public boolean markVisited(int index) {
+        return mark(index, 0);
+    }
+
+    // Colors for mark(index, 1..n); tint 0 is always the visited color. Clears the marks.
+    public void setTints(Color... colors) {
+        clearVisited();
+        tints = colors.clone();
+        tinted = new BitSet[colors.length];
+        for (int t = 0; t < tinted.length; t++) tinted[t] = new BitSet();
+    }
+
+    // The tint a marked cell is drawn in, or -1 if it is not marked.
+    public int tint(int index) {
+        if (!visited.get(index)) return -1;
+        for (int t = 0; t < tinted.length; t++) if (tinted[t].get(index)) return t + 1;
+        return 0;
+    }
+
+    // Marks the cell in `tint`, or changes the tint it is marked in. Returns false if it
+    // was already marked.
+    public boolean mark(int index, int tint) {
+        int old = tint(index);
+        if (old == tint) return false;
+        if (old > 0) tinted[old - 1].clear(index);
+        if (tint > 0) tinted[tint - 1].set(index);
+        visited.set(index);
+        if (mipmap != null && old == -1) mipmap.markVisited(index);
+        if (level == 0) {
+            int c = grid.col(index), r = grid.row(index);
+            Chunk ch = chunks.get(c / chunk + r / chunk * chunkCols);
+            // An empty placeholder is dropped so the next paint allocates the real overlay.
+            if (ch != null && ch.visited == VISITED_NONE) ch.visited = null;
+            if (ch != null && ch.visited != null) {
+                Graphics2D g = ch.visited.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.setColor(tint == 0 ? visitedColor : tints[tint - 1]);
+                g.fillRect(c % chunk * cellSize, r % chunk * cellSize, cellSize, cellSize);
+                g.dispose();
+            }
+        }
+        return old == -1;
+    }
+
+    public void clearVisited() {
+        visited.clear();
+        for (BitSet t : tinted) t.clear();
+        for (Chunk ch : chunks.values()) ch.visited = null;
+        if (mipmap != null) mipmap.clearVisited();
+    }
+
+    public void draw(Graphics2D g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, width(), height());
+        if (level > 0) {
+            g.drawImage(mipmap.terrain(level), 0, 0, null);
+            g.drawImage(mipmap.visited(level), 0, 0, null);
+            return;
+        }
+        int span = chunk * cellSize;
+        int cc0 = Math.max(0, clip.x / span), cc1 = Math.min((grid.cols - 1) / chunk, (clip.x + clip.width - 1) / span);
+        int cr0 = Math.max(0, clip.y / span), cr1 = Math.min((grid.rows - 1) / chunk, (clip.y + clip.height - 1) / span);
+        for (int cr = cr0; cr <= cr1; cr++) {
+            for (int cc = cc0; cc <= cc1; cc++) {
+                Chunk ch = chunk(cc, cr);
+                g.drawImage(ch.base, cc * span, cr * span, null);
+                if (ch.visited != VISITED_NONE) g.drawImage(ch.visited, cc * span, cr * span, null);
+            }
+        }
+    }
+
+    private Chunk chunk(int cc, int cr) {
+        int key = cc + cr * chunkCols;
+        Chunk ch = chunks.get(key);
+        if (ch == null) {
+            ch = new Chunk();
+            chunks.put(key, ch);
+        }
+        int c0 = cc * chunk, r0 = cr * chunk;
+        int c1 = Math.min(grid.cols, c0 + chunk), r1 = Math.min(grid.rows, r0 + chunk);
+        if (ch.base == null) {
+            ch.base = new BufferedImage((c1 - c0) * cellSize, (r1 - r0) * cellSize, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = ch.base.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.translate(-c0 * cellSize, -r0 * cellSize);
+            for (int r = r0; r < r1; r++)
+                for (int c = c0; c < c1; c++) Cell.drawTerrain(g, grid, c + r * grid.cols, cellSize);
+            // Strokes are centred on tile edges and overhang them, so the ring of cells around
+            // the chunk is drawn too, clipped to the image.
+            if (cellSize >= WALL_MIN) {
+                for (int r = Math.max(0, r0 - 1); r < Math.min(grid.rows, r1 + 1); r++)
+                    for (int c = Math.max(0, c0 - 1); c < Math.min(grid.cols, c1 + 1); c++)
+                        Cell.drawWalls(g, grid, c + r * grid.cols, cellSize, wallStroke);
+            }
+            g.dispose();
+        }
+        // The overlay is only allocated once a cell of the chunk has been visited.
+        if (ch.visited == null) {
+            ch.visited = VISITED_NONE;
+            Graphics2D g = null;
+            for (int r = r0; r < r1; r++) {
+                int rowStart = r * grid.cols;
+                for (int i = visited.nextSetBit(rowStart + c0); i >= 0 && i < rowStart + c1; i = visited.nextSetBit(i + 1)) {
+                    if (g == null) {
+                        ch.visited = new BufferedImage((c1 - c0) * cellSize, (r1 - r0) * cellSize, BufferedImage.TYPE_INT_ARGB);
+                        g = ch.visited.createGraphics();
+                    }
+                    int tint = tinted.length == 0 ? 0 : tint(i);
+                    g.setColor(tint == 0 ? visitedColor : tints[tint - 1]);
+                    g.fillRect((i - rowStart - c0) * cellSize, (r - r0) * cellSize, cellSize, cellSize);
+                }
+            }
+            if (g != null) g.dispose();
+        }
+        return ch;
+    }
+
+    private MazeMipmap mipmap() {
+        if (mipmap == null) {
+            mipmap = new MazeMipmap(grid, visitedColor.getAlpha());
+            for (int i = visited.nextSetBit(0); i >= 0; i = visited.nextSetBit(i + 1)) mipmap.markVisited(i);
+        }
+        return mipmap;
+    }
+
+    // Drops the chunk images that show any part of the cell, including its walls' overhang.
+    private void invalidate(int index) {
+        if (level > 0) return;
+        int c = grid.col(index), r = grid.row(index);
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int nc = c + dc, nr = r + dr;
+                if (grid.getIndex(nc, nr) == -1) continue;
+                Chunk ch = chunks.get(nc / chunk + nr / chunk * chunkCols);
+                if (ch != null) ch.base = null;
+            }
+        }
+    }
+
+    @Override
+    public void wallChanged(int a, int b, boolean open) {
+        invalidate(a);
+        invalidate(b);
+    }
+
+    @Override
+    public void terrainChanged(int index, int oldCost, int newCost) {
+        invalidate(index);
+        if (mipmap != null) mipmap.terrainChanged(index);
+    }
+}
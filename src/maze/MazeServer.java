@@ -0,0 +1,351 @@
+package maze;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+// Headless solve service on the JDK's HttpServer, bound to localhost. Each request runs on
+// its own virtual thread where the runtime has them (a cached thread pool otherwise), and
+// searches run through one BatchSolver per maze, so repeated queries reuse its snapshot,
+// solver pool and preprocessing. Mazes sit in an LRU bounded by total cells.
+//
+//   GET  /maze?cols=&rows=&seed=[&gen=prim|tiled]   generate, or reuse; replies with its id
+//   POST /maze                                      upload a MazeFile; replies with its id
+//   GET  /maze/<id>                                 download in the compressed MazeFile format
+//   GET  /solve?maze=<id>[&start=&end=][&algo=A*][&path=1]
+//   POST /batch?maze=<id>[&algo=A*]                 body: one "start end" pair per line
+//
+// Cells are indexes (col + row * cols); start and end default to the maze's own. A generated
+// maze's id spells out its parameters ("prim-256x256-1"), so it is regenerated if evicted;
+// an evicted upload has to be sent again. Replies are JSON.
+// Usage: java maze.MazeServer [port=8080] [cacheCells=67108864] [maxCells=16777216]
+public class MazeServer implements AutoCloseable {
+    public static final int MAX_BATCH = 100_000;
+    private static final int TILE = 64;
+    private static final List<String> GENERATORS = List.of("prim", "tiled");
+
+    private final HttpServer server;
+    private final ExecutorService requests, searches;
+    private final long cacheCells, maxCells;
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCells;
+
+    // A cached maze; `loaded` completes once it has been generated or read.
+    private static final class Entry {
+        final CompletableFuture<Loaded> loaded = new CompletableFuture<>();
+        final long cells;
+
+        Entry(long cells) {
+            this.cells = cells;
+        }
+    }
+
+    private static final class Loaded {
+        final MazeFile file;
+        final BatchSolver solver;
+
+        Loaded(MazeFile file, BatchSolver solver) {
+            this.file = new MazeFile(solver.maze(), file.seed, file.start, file.end);
+            this.solver = solver;
+        }
+    }
+
+    // A failed request: the status and a message for the reply.
+    private static final class Failure extends Exception {
+        final int status;
+
+        Failure(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public MazeServer(int port, long cacheCells, long maxCells) throws IOException {
+        this.cacheCells = cacheCells;
+        this.maxCells = maxCells;
+        ExecutorService virtual = BatchSolver.virtualThreads();
+        requests = virtual != null ? virtual : Executors.newCachedThreadPool();
+        ExecutorService virtualSearches = BatchSolver.virtualThreads();
+        searches = virtualSearches != null ? virtualSearches : new ForkJoinPool(parallelism);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(requests);
+        server.createContext("/maze", ex -> handle(ex, this::maze));
+        server.createContext("/solve", ex -> handle(ex, this::solve));
+        server.createContext("/batch", ex -> handle(ex, this::batch));
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean usesVirtualThreads() {
+        return !(searches instanceof ForkJoinPool);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        requests.shutdown();
+        searches.shutdown();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange ex, Map<String, String> params) throws IOException, Failure;
+    }
+
+    private static void handle(HttpExchange ex, Handler handler) throws IOException {
+        try (ex) {
+            try {
+                handler.handle(ex, params(ex.getRequestURI()));
+            } catch (Failure e) {
+                reply(ex, e.status, "{\"error\":" + quote(e.getMessage()) + "}");
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                int status = cause instanceof IllegalArgumentException ? 400 : 500;
+                reply(ex, status, "{\"error\":" + quote(String.valueOf(cause.getMessage())) + "}");
+            }
+        }
+    }
+
+    // GET /maze?... generates, GET /maze/<id> downloads, POST /maze uploads.
+    private void maze(HttpExchange ex, Map<String, String> params) throws IOException, Failure {
+        String path = ex.getRequestURI().getPath();
+        String method = ex.getRequestMethod();
+        if (method.equals("POST") && path.equals("/maze")) {
+            MazeFile file;
+            try {
+                file = MazeFile.read(ex.getRequestBody(), "upload", maxCells);
+            } catch (IOException e) {
+                throw new Failure(400, e.getMessage());
+            }
+            // The endpoints are part of the id, so the same grid uploaded with other ones does not
+            // replace the default endpoints under an id a client already holds.
+            String id = String.format(Locale.ROOT, "file-%dx%d-%08x-%d-%d", file.grid.cols, file.grid.rows,
+                    Landmarks.checksum(file.grid), file.start, file.end);
+            reply(ex, 200, describe(id, put(id, file)));
+        } else if (method.equals("GET") && path.equals("/maze")) {
+            String gen = params.getOrDefault("gen", "prim");
+            if (!GENERATORS.contains(gen)) throw new Failure(400, "gen must be one of " + GENERATORS);
+            String id = String.format(Locale.ROOT, "%s-%dx%d-%d", gen,
+                    intParam(params, "cols", 64), intParam(params, "rows", 64), longParam(params, "seed", 1));
+            reply(ex, 200, describe(id, lookup(id)));
+        } else if (method.equals("GET") && path.startsWith("/maze/")) {
+            Loaded maze = lookup(path.substring("/maze/".length()));
+            ex.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            ex.sendResponseHeaders(200, 0);
+            try (OutputStream out = ex.getResponseBody()) {
+                maze.file.write(out);
+            }
+        } else {
+            throw new Failure(405, method + " " + path + " is not supported");
+        }
+    }
+
+    private void solve(HttpExchange ex, Map<String, String> params) throws IOException, Failure {
+        Loaded maze = lookup(required(params, "maze"));
+        int start = cell(maze, params, "start", maze.file.start);
+        int end = cell(maze, params, "end", maze.file.end);
+        String algo = params.getOrDefault("algo", "A*");
+        SolveResult result = maze.solver.submit(new BatchSolver.Query(start, end, algo)).join();
+        StringBuilder json = new StringBuilder();
+        result(json, result);
+        if (params.getOrDefault("path", "0").equals("1")) {
+            json.setLength(json.length() - 1);
+            json.append(",\"path\":[");
+            for (int i = 0; i < result.path.length; i++) json.append(i == 0 ? "" : ",").append(result.path[i]);
+            json.append("]}");
+        }
+        reply(ex, 200, json.toString());
+    }
+
+    private void batch(HttpExchange ex, Map<String, String> params) throws IOException, Failure {
+        if (!ex.getRequestMethod().equals("POST")) throw new Failure(405, "POST the queries to /batch");
+        Loaded maze = lookup(required(params, "maze"));
+        String algo = params.getOrDefault("algo", "A*");
+        List<BatchSolver.Query> queries = new ArrayList<>();
+        BufferedReader in = new BufferedReader(new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8));
+        for (String line; (line = in.readLine()) != null; ) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            if (queries.size() == MAX_BATCH) throw new Failure(413, "at most " + MAX_BATCH + " queries per batch");
+            String[] pair = line.split("\\s+");
+            if (pair.length != 2) throw new Failure(400, "expected \"start end\", got \"" + line + "\"");
+            queries.add(new BatchSolver.Query(check(maze, Integer.parseInt(pair[0])), check(maze, Integer.parseInt(pair[1])), algo));
+        }
+        BatchSolver.Batch batch = maze.solver.submitAll(queries).join();
+        StringBuilder json = new StringBuilder("{\"queries\":").append(queries.size()).append(",\"results\":[");
+        batch.results().forEach(r -> result(json, r).append(','));
+        if (!queries.isEmpty()) json.setLength(json.length() - 1);
+        reply(ex, 200, json.append("]}").toString());
+    }
+
+    // The cached maze for `id`, generating it if the id names generator parameters. The lock
+    // only covers finding or inserting the entry; waiting for one still being generated
+    // happens outside it, so that holds up only the requests for that maze.
+    private Loaded lookup(String id) throws Failure {
+        Entry entry;
+        int cols = 0, rows = 0;
+        boolean generate = false;
+        synchronized (cache) {
+            entry = cache.get(id);
+            if (entry == null) {
+                String[] parts = id.split("-", 3);
+                if (parts.length != 3 || !GENERATORS.contains(parts[0])) throw new Failure(404, "no maze " + id + "; upload it again");
+                String[] size = parts[1].split("x");
+                if (size.length != 2) throw new Failure(400, "bad maze size " + parts[1]);
+                cols = Integer.parseInt(size[0]);
+                rows = Integer.parseInt(size[1]);
+                if (cols < 2 || rows < 2) throw new Failure(400, "a maze needs at least 2x2 cells");
+                if ((long) cols * rows > maxCells) throw new Failure(413, cols + "x" + rows + " is over the " + maxCells + " cell limit");
+                entry = insert(id, new Entry((long) cols * rows));
+                generate = true;
+            }
+        }
+        if (!generate) return entry.loaded.join();
+        // Generated outside the lock; concurrent requests for the same id wait on the entry.
+        try {
+            String[] parts = id.split("-", 3);
+            entry.loaded.complete(load(generate(parts[0], cols, rows, Long.parseLong(parts[2]))));
+        } catch (RuntimeException e) {
+            entry.loaded.completeExceptionally(e);
+            synchronized (cache) {
+                if (cache.remove(id, entry)) cachedCells -= entry.cells;
+            }
+        }
+        return entry.loaded.join();
+    }
+
+    private Loaded put(String id, MazeFile file) {
+        Loaded loaded = load(file);
+        Entry entry = new Entry(file.grid.size());
+        entry.loaded.complete(loaded);
+        synchronized (cache) {
+            insert(id, entry);
+        }
+        return loaded;
+    }
+
+    // Adds `entry`, then evicts least recently used mazes until the cells fit again (the
+    // newest always stays). Called with the cache locked.
+    private Entry insert(String id, Entry entry) {
+        Entry old = cache.put(id, entry);
+        if (old != null) cachedCells -= old.cells;
+        cachedCells += entry.cells;
+        for (Iterator<Entry> it = cache.values().iterator(); cachedCells > cacheCells && cache.size() > 1; ) {
+            Entry eldest = it.next();
+            it.remove();
+            cachedCells -= eldest.cells;
+            eldest.loaded.thenAccept(l -> l.solver.close());
+        }
+        return entry;
+    }
+
+    private MazeFile generate(String gen, int cols, int rows, long seed) {
+        MazeGrid grid = gen.equals("tiled") ? new ParallelMazeGenerator(seed, TILE).generate(cols, rows)
+                : new MazeGenerator(seed).generate(cols, rows);
+        grid.setTerrainCost(0, 0);
+        grid.setTerrainCost(grid.size() - 1, 0);
+        return new MazeFile(grid, seed, 0, grid.size() - 1);
+    }
+
+    private Loaded load(MazeFile file) {
+        return new Loaded(file, new BatchSolver(file.grid, searches, parallelism));
+    }
+
+    private static String describe(String id, Loaded maze) {
+        MazeFile f = maze.file;
+        return String.format(Locale.ROOT, "{\"id\":%s,\"cols\":%d,\"rows\":%d,\"seed\":%d,\"start\":%d,\"end\":%d}",
+                quote(id), f.grid.cols, f.grid.rows, f.seed, f.start, f.end);
+    }
+
+    private static StringBuilder result(StringBuilder json, SolveResult r) {
+        return json.append("{\"algorithm\":").append(quote(r.algorithm)).append(",\"found\":").append(r.found)
+                .append(",\"cost\":").append(r.cost).append(",\"length\":").append(r.path.length)
+                .append(",\"expanded\":").append(r.expanded).append('}');
+    }
+
+    private static int cell(Loaded maze, Map<String, String> params, String name, int fallback) throws Failure {
+        return params.containsKey(name) ? check(maze, intParam(params, name, 0)) : fallback;
+    }
+
+    private static int check(Loaded maze, int cell) throws Failure {
+        if (cell < 0 || cell >= maze.file.grid.size()) throw new Failure(400, "cell " + cell + " is outside the maze");
+        return cell;
+    }
+
+    private static String required(Map<String, String> params, String name) throws Failure {
+        String value = params.get(name);
+        if (value == null) throw new Failure(400, "missing parameter " + name);
+        return value;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int fallback) {
+        return params.containsKey(name) ? Integer.parseInt(params.get(name)) : fallback;
+    }
+
+    private static long longParam(Map<String, String> params, String name, long fallback) {
+        return params.containsKey(name) ? Long.parseLong(params.get(name)) : fallback;
+    }
+
+    private static Map<String, String> params(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char ch : s.toCharArray()) {
+            if (ch == '"' || ch == '\\') sb.append('\\').append(ch);
+            else if (ch < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) ch));
+            else sb.append(ch);
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void reply(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        long cacheCells = args.length > 1 ? Long.parseLong(args[1]) : 1L << 26;
+        long maxCells = args.length > 2 ? Long.parseLong(args[2]) : 1L << 24;
+        MazeServer server = new MazeServer(port, cacheCells, maxCells);
+        System.out.printf("Listening on http://localhost:%d/ (%s)%n", server.port(),
+                server.usesVirtualThreads() ? "virtual threads" : "thread pool");
+    }
+}
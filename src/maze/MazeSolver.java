@@ -0,0 +1,75 @@
+package maze;
+
+// Headless path search over a MazeGrid. Implementations reuse their scratch arrays
+// between calls and are therefore not thread-safe.
+public interface MazeSolver {
+    String name();
+
+    SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener);
+
+    default SolveResult solve(MazeGrid maze, int start, int end) {
+        return solve(maze, start, end, SearchListener.NONE);
+    }
+
+    default boolean isWeighted() {
+        return true;
+    }
+
+    static MazeSolver create(String algo) {
+        return create(algo, "heap");
+    }
+
+    // `queue` selects the priority queue of the weighted searches: "heap", "bucket" or "java".
+    static MazeSolver create(String algo, String queue) {
+        switch (algo) {
+            case "BFS": return new BfsSolver();
+            case "DFS": return new DfsSolver();
+            case "Dijkstra": return new DijkstraSolver(IndexedPriorityQueue.create(queue));
+            case "A*": return new AStarSolver(IndexedPriorityQueue.create(queue));
+            case "Bi-BFS": return new BidirectionalBfsSolver();
+            case "Bi-Dijkstra":
+                return new BidirectionalDijkstraSolver(IndexedPriorityQueue.create(queue), IndexedPriorityQueue.create(queue));
+            case "Bi-A*":
+                return new BidirectionalAStarSolver(IndexedPriorityQueue.create(queue), IndexedPriorityQueue.create(queue));
+            case "Parallel BFS": return new ParallelBfsSolver();
+            case "BFS (bitboard)": return new BitboardBfsSolver();
+            case "Dijkstra (contracted)": return new ContractedDijkstraSolver(IndexedPriorityQueue.create(queue));
+            case "A* (contracted)": return new ContractedAStarSolver(IndexedPriorityQueue.create(queue));
+            case "HPA*": return new HierarchicalSolver();
+            case "A* (ALT)": return new AltAStarSolver(IndexedPriorityQueue.create(queue));
+            case "D* Lite": return new DStarLiteSolver();
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algo);
+        }
+    }
+
+    // Walks parent links back from `end`. Unweighted searches pay 1 per step,
+    // weighted ones pay the terrain cost of every cell entered after the start.
+    static SolveResult buildResult(String algo, MazeGrid maze, int[] parent, int start, int end,
+                                   boolean found, boolean weighted, int expanded) {
+        return buildResult(algo, maze, parent, start, end, found, weighted, expanded, 0, 0);
+    }
+
+    static SolveResult buildResult(String algo, MazeGrid maze, int[] parent, int start, int end,
+                                   boolean found, boolean weighted, int expanded, int maxFrontier, int relaxations) {
+        if (!found) return new SolveResult(algo, false, new int[0], 0, expanded, maxFrontier, relaxations);
+        int length = 1;
+        for (int curr = end; curr != start; curr = parent[curr]) length++;
+        int[] path = new int[length];
+        int cost = 0;
+        int curr = end;
+        for (int i = length - 1; i > 0; i--) {
+            path[i] = curr;
+            cost += weighted ? maze.terrainCost(curr) : 1;
+            curr = parent[curr];
+        }
+        path[0] = start;
+        return new SolveResult(algo, true, path, cost, expanded, maxFrontier, relaxations);
+    }
+
+    static int pathCost(MazeGrid maze, int[] path, boolean weighted) {
+        if (!weighted) return Math.max(0, path.length - 1);
+        int cost = 0;
+        for (int i = 1; i < path.length; i++) cost += maze.terrainCost(path[i]);
+        return cost;
+    }
+}
@@ -0,0 +1,171 @@
+package maze;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Sidebar metrics: live nodes/s and frontier size while a search runs, a sparkline of the
+// frontier over the search, and the last run of each algorithm side by side. Everything
+// here is touched on the EDT only; FrontierHistory is the hand-off from the solver thread.
+public class MetricsPanel extends JPanel {
+    private static final Color BG = new Color(50, 50, 50);
+    private static final String[] COLUMNS = {"Algorithm", "Cost", "Expanded", "ms"};
+
+    private final JLabel lblRate = label(Color.CYAN), lblFrontier = label(Color.YELLOW);
+    private final JLabel lblRelax = label(Color.WHITE), lblAlloc = label(Color.WHITE);
+    private final Sparkline sparkline = new Sparkline();
+    private final DefaultTableModel runs = new DefaultTableModel(COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+
+    public MetricsPanel() {
+        super(new BorderLayout(0, 5));
+        setBackground(BG);
+        setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(Color.GRAY), "Metrics",
+                0, 0, new Font("SansSerif", Font.PLAIN, 12), Color.LIGHT_GRAY));
+
+        JPanel numbers = new JPanel(new GridLayout(4, 2));
+        numbers.setBackground(BG);
+        numbers.add(caption("Nodes/s:")); numbers.add(lblRate);
+        numbers.add(caption("Frontier:")); numbers.add(lblFrontier);
+        numbers.add(caption("Relaxations:")); numbers.add(lblRelax);
+        numbers.add(caption("Allocated:")); numbers.add(lblAlloc);
+        add(numbers, BorderLayout.NORTH);
+        add(sparkline, BorderLayout.CENTER);
+
+        JTable table = new JTable(runs);
+        table.setBackground(new Color(40, 40, 40));
+        table.setForeground(Color.WHITE);
+        table.setGridColor(Color.DARK_GRAY);
+        table.setFont(new Font("SansSerif", Font.PLAIN, 11));
+        table.setRowHeight(16);
+        table.getTableHeader().setFont(new Font("SansSerif", Font.BOLD, 11));
+        table.getColumnModel().getColumn(0).setPreferredWidth(90);
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.getViewport().setBackground(new Color(40, 40, 40));
+        scroll.setPreferredSize(new Dimension(200, 110));
+        add(scroll, BorderLayout.SOUTH);
+        clear();
+    }
+
+    public void clear() {
+        lblRate.setText("-");
+        lblFrontier.setText("-");
+        lblRelax.setText("-");
+        lblAlloc.setText("-");
+        sparkline.setSamples(new int[0]);
+    }
+
+    // While a search runs: expansions per second so far and the frontier history.
+    public void live(double nodesPerSecond, FrontierHistory history) {
+        int[] samples = history.snapshot();
+        lblRate.setText(format(nodesPerSecond));
+        lblFrontier.setText(samples.length == 0 ? "-" : String.valueOf(samples[samples.length - 1]));
+        sparkline.setSamples(samples);
+    }
+
+    public void finished(MazeMetrics.Run run, FrontierHistory history) {
+        SolveResult r = run.result;
+        lblRate.setText(format(run.nodesPerSecond()));
+        lblFrontier.setText(r.maxFrontier > 0 ? "max " + r.maxFrontier : "-");
+        lblRelax.setText(r.relaxations > 0 ? String.valueOf(r.relaxations) : "-");
+        lblAlloc.setText(run.allocatedBytes > 0 ? format(run.allocatedBytes) + "B" : "-");
+        sparkline.setSamples(history.snapshot());
+
+        runs.setRowCount(0);
+        for (MazeMetrics.Run last : MazeMetrics.lastRuns()) {
+            SolveResult lr = last.result;
+            runs.addRow(new Object[] {lr.algorithm, lr.found ? lr.cost : "-", lr.expanded,
+                    String.format(Locale.ROOT, "%.1f", last.nanos / 1e6)});
+        }
+    }
+
+    private static String format(double value) {
+        if (value >= 1e9) return String.format(Locale.ROOT, "%.1fG", value / 1e9);
+        if (value >= 1e6) return String.format(Locale.ROOT, "%.1fM", value / 1e6);
+        if (value >= 1e3) return String.format(Locale.ROOT, "%.1fk", value / 1e3);
+        return String.format(Locale.ROOT, "%.0f", value);
+    }
+
+    private static JLabel caption(String text) {
+        JLabel l = new JLabel(text);
+        l.setForeground(Color.LIGHT_GRAY);
+        return l;
+    }
+
+    private static JLabel label(Color c) {
+        JLabel l = new JLabel("-");
+        l.setFont(new Font("Consolas", Font.BOLD, 13));
+        l.setForeground(c);
+        return l;
+    }
+
+    // Frontier sizes over a whole search in at most CAPACITY points. The solver thread adds
+    // one size per expansion; each point is the peak of `stride` expansions, and when the
+    // points run out neighbors are merged and the stride doubles.
+    public static final class FrontierHistory {
+        private static final int CAPACITY = 256;
+        private final int[] points = new int[CAPACITY];
+        private int count, stride = 1, pending, peak;
+
+        // Solver thread.
+        public void add(int size) {
+            peak = Math.max(peak, size);
+            if (++pending < stride) return;
+            synchronized (this) {
+                if (count == CAPACITY) {
+                    for (int i = 0; i < CAPACITY / 2; i++) points[i] = Math.max(points[2 * i], points[2 * i + 1]);
+                    count = CAPACITY / 2;
+                    stride *= 2;
+                }
+                points[count++] = peak;
+            }
+            pending = 0;
+            peak = 0;
+        }
+
+        public synchronized int[] snapshot() {
+            return Arrays.copyOf(points, count);
+        }
+    }
+
+    private static final class Sparkline extends JComponent {
+        private int[] samples = new int[0];
+
+        Sparkline() {
+            setPreferredSize(new Dimension(200, 50));
+        }
+
+        void setSamples(int[] samples) {
+            this.samples = samples;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setColor(new Color(40, 40, 40));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            if (samples.length < 2) return;
+            int max = 1;
+            for (int s : samples) max = Math.max(max, s);
+            int w = getWidth() - 1, h = getHeight() - 2;
+            int[] xs = new int[samples.length], ys = new int[samples.length];
+            for (int i = 0; i < samples.length; i++) {
+                xs[i] = (int) ((long) i * w / (samples.length - 1));
+                ys[i] = 1 + h - (int) ((long) samples[i] * h / max);
+            }
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(new Color(241, 196, 15));
+            g2.drawPolyline(xs, ys, samples.length);
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.setFont(new Font("SansSerif", Font.PLAIN, 10));
+            g2.drawString(String.valueOf(max), 3, 11);
+        }
+    }
+}
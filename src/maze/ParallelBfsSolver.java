@@ -0,0 +1,108 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Level-synchronous BFS: each frontier layer is split into chunks that are expanded on a
+// ForkJoinPool. Cells are claimed through a CAS on a shared visited bitset, so each cell
+// gets exactly one parent. The listener sees a layer after it completes, on the caller.
+public class ParallelBfsSolver implements MazeSolver {
+    private static final int CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private int[] parent = new int[0];
+
+    public ParallelBfsSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBfsSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String name() {
+        return "Parallel BFS";
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid maze, int start, int end, SearchListener listener) {
+        int n = maze.size();
+        if (parent.length != n) parent = new int[n];
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+
+        claim(visited, start);
+        parent[start] = start;
+        int[] frontier = {start};
+        int expanded = 0;
+        boolean found = start == end;
+
+        while (!found && frontier.length > 0) {
+            int[] layer = frontier;
+            int chunks = (layer.length + CHUNK - 1) / CHUNK;
+            int[][] discovered = chunks == 1
+                    ? new int[][] {expandChunk(maze, visited, layer, 0)}
+                    : pool.submit(() -> IntStream.range(0, chunks).parallel()
+                        .mapToObj(k -> expandChunk(maze, visited, layer, k))
+                        .toArray(int[][]::new)).join();
+
+            for (int current : layer) {
+                expanded++;
+                listener.onExpand(current, expanded);
+            }
+
+            int total = 0;
+            for (int[] part : discovered) total += part.length;
+            frontier = new int[total];
+            int pos = 0;
+            for (int[] part : discovered) {
+                System.arraycopy(part, 0, frontier, pos, part.length);
+                pos += part.length;
+            }
+            found = isClaimed(visited, end);
+        }
+        return MazeSolver.buildResult(name(), maze, parent, start, end, found, false, expanded);
+    }
+
+    private int[] expandChunk(MazeGrid maze, AtomicLongArray visited, int[] layer, int chunk) {
+        int from = chunk * CHUNK, to = Math.min(layer.length, from + CHUNK);
+        int[] neighbors = new int[4];
+        int[] out = new int[(to - from) * 3 + 1];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int current = layer[i];
+            int count = maze.getValidNeighbors(current, neighbors);
+            for (int k = 0; k < count; k++) {
+                int next = neighbors[k];
+                if (claim(visited, next)) {
+                    parent[next] = current;
+                    out[size++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static boolean claim(AtomicLongArray visited, int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long old = visited.get(word);
+        while ((old & bit) == 0) {
+            long witness = visited.compareAndExchange(word, old, old | bit);
+            if (witness == old) return true;
+            old = witness;
+        }
+        return false;
+    }
+
+    private static boolean isClaimed(AtomicLongArray visited, int index) {
+        return (visited.get(index >>> 6) & (1L << index)) != 0;
+    }
+}
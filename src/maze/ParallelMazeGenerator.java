@@ -0,0 +1,224 @@
+package maze;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Tiled maze generation across a ForkJoinPool. Every tile carves its own spanning tree
+// with Prim's, tiles are joined along a random spanning tree of the tile graph (one
+// opening per joined boundary), and loops are added tile by tile. All randomness comes
+// from SplittableRandoms split in tile order, so the result depends only on the seed
+// and the tile size, never on the number of threads.
+public class ParallelMazeGenerator {
+    private static final int TERRAIN_CHUNK = 1 << 16;
+
+    private final long seed;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+
+    public ParallelMazeGenerator(long seed, int tileSize) {
+        this(seed, tileSize, ForkJoinPool.commonPool());
+    }
+
+    public ParallelMazeGenerator(long seed, int tileSize, ForkJoinPool pool) {
+        if (tileSize < 2) throw new IllegalArgumentException("tileSize must be at least 2");
+        this.seed = seed;
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    public MazeGrid generate(int cols, int rows) {
+        MazeMetrics.Generation metrics = MazeMetrics.generating("Tiled Prim", cols, rows);
+        MazeGrid grid = new MazeGrid(cols, rows);
+        SplittableRandom root = new SplittableRandom(seed);
+        generateTiledMaze(grid, root.split());
+        assignTerrains(grid, root.split());
+        metrics.finish();
+        return grid;
+    }
+
+    public void generateTiledMaze(MazeGrid grid) {
+        generateTiledMaze(grid, new SplittableRandom(seed));
+    }
+
+    public void assignTerrains(MazeGrid grid) {
+        assignTerrains(grid, new SplittableRandom(seed));
+    }
+
+    private void generateTiledMaze(MazeGrid grid, SplittableRandom root) {
+        int tilesX = (grid.cols + tileSize - 1) / tileSize;
+        int tilesY = (grid.rows + tileSize - 1) / tileSize;
+        int tiles = tilesX * tilesY;
+
+        SplittableRandom[] carveRandoms = new SplittableRandom[tiles];
+        SplittableRandom[] loopRandoms = new SplittableRandom[tiles];
+        for (int t = 0; t < tiles; t++) carveRandoms[t] = root.split();
+        for (int t = 0; t < tiles; t++) loopRandoms[t] = root.split();
+        SplittableRandom stitchRandom = root.split();
+
+        // Tiles only touch their own cells while carving.
+        run(tiles, t -> carveTile(grid, t % tilesX, t / tilesX, carveRandoms[t]));
+
+        stitchTiles(grid, tilesX, tilesY, stitchRandom);
+
+        // Loop walls may cross into the next tile, so tiles sharing an edge never run
+        // together: four passes over the (tx % 2, ty % 2) classes.
+        for (int phase = 0; phase < 4; phase++) {
+            int px = phase & 1, py = phase >> 1;
+            int phaseX = (tilesX - px + 1) / 2, phaseY = (tilesY - py + 1) / 2;
+            run(phaseX * phaseY, k -> {
+                int tx = px + 2 * (k % phaseX), ty = py + 2 * (k / phaseX);
+                addLoops(grid, tx, ty, loopRandoms[tx + ty * tilesX]);
+            });
+        }
+    }
+
+    private void carveTile(MazeGrid grid, int tx, int ty, SplittableRandom rand) {
+        int x0 = tx * tileSize, y0 = ty * tileSize;
+        int w = Math.min(tileSize, grid.cols - x0), h = Math.min(tileSize, grid.rows - y0);
+        int size = w * h;
+        int[] frontier = new int[size];
+        int frontierSize = 0;
+        BitSet visited = new BitSet(size);
+        BitSet inFrontier = new BitSet(size);
+        int[] neighbors = new int[4];
+        int[] visitedNeighbors = new int[4];
+
+        int start = rand.nextInt(size);
+        visited.set(start);
+        int count = localNeighbors(start, w, h, neighbors);
+        for (int i = 0; i < count; i++) {
+            frontier[frontierSize++] = neighbors[i];
+            inFrontier.set(neighbors[i]);
+        }
+
+        while (frontierSize > 0) {
+            int randIndex = rand.nextInt(frontierSize);
+            int current = frontier[randIndex];
+            frontier[randIndex] = frontier[--frontierSize];
+            inFrontier.clear(current);
+
+            count = localNeighbors(current, w, h, neighbors);
+            int visitedCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (visited.get(neighbors[i])) visitedNeighbors[visitedCount++] = neighbors[i];
+            }
+            int connected = visitedNeighbors[rand.nextInt(visitedCount)];
+            grid.removeWalls(toGlobal(grid, current, x0, y0, w), toGlobal(grid, connected, x0, y0, w));
+            visited.set(current);
+
+            for (int i = 0; i < count; i++) {
+                int n = neighbors[i];
+                if (!visited.get(n) && !inFrontier.get(n)) {
+                    frontier[frontierSize++] = n;
+                    inFrontier.set(n);
+                }
+            }
+        }
+    }
+
+    // Randomized Prim's over the tile graph; each tree edge opens one wall on the shared boundary.
+    private void stitchTiles(MazeGrid grid, int tilesX, int tilesY, SplittableRandom rand) {
+        int tiles = tilesX * tilesY;
+        int[] frontier = new int[tiles];
+        int frontierSize = 0;
+        BitSet joined = new BitSet(tiles);
+        BitSet inFrontier = new BitSet(tiles);
+        int[] neighbors = new int[4];
+        int[] joinedNeighbors = new int[4];
+
+        joined.set(0);
+        int count = localNeighbors(0, tilesX, tilesY, neighbors);
+        for (int i = 0; i < count; i++) {
+            frontier[frontierSize++] = neighbors[i];
+            inFrontier.set(neighbors[i]);
+        }
+
+        while (frontierSize > 0) {
+            int randIndex = rand.nextInt(frontierSize);
+            int current = frontier[randIndex];
+            frontier[randIndex] = frontier[--frontierSize];
+
+            count = localNeighbors(current, tilesX, tilesY, neighbors);
+            int joinedCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (joined.get(neighbors[i])) joinedNeighbors[joinedCount++] = neighbors[i];
+            }
+            openBoundary(grid, current, joinedNeighbors[rand.nextInt(joinedCount)], tilesX, rand);
+            joined.set(current);
+
+            for (int i = 0; i < count; i++) {
+                int n = neighbors[i];
+                if (!joined.get(n) && !inFrontier.get(n)) {
+                    frontier[frontierSize++] = n;
+                    inFrontier.set(n);
+                }
+            }
+        }
+    }
+
+    private void openBoundary(MazeGrid grid, int a, int b, int tilesX, SplittableRandom rand) {
+        int ax = a % tilesX, ay = a / tilesX, bx = b % tilesX, by = b / tilesX;
+        if (ay == by) {
+            int x = Math.max(ax, bx) * tileSize;
+            int y0 = ay * tileSize, h = Math.min(tileSize, grid.rows - y0);
+            int y = y0 + rand.nextInt(h);
+            grid.removeWalls(grid.getIndex(x - 1, y), grid.getIndex(x, y));
+        } else {
+            int y = Math.max(ay, by) * tileSize;
+            int x0 = ax * tileSize, w = Math.min(tileSize, grid.cols - x0);
+            int x = x0 + rand.nextInt(w);
+            grid.removeWalls(grid.getIndex(x, y - 1), grid.getIndex(x, y));
+        }
+    }
+
+    // Same density as the loop pass of MazeGenerator.generatePrimsMaze, drawn per tile.
+    private void addLoops(MazeGrid grid, int tx, int ty, SplittableRandom rand) {
+        int x0 = tx * tileSize, y0 = ty * tileSize;
+        int w = Math.min(tileSize, grid.cols - x0), h = Math.min(tileSize, grid.rows - y0);
+        int[] neighbors = new int[4];
+        for (int i = 0; i < (w * h * 0.15); i++) {
+            int c1 = grid.getIndex(x0 + rand.nextInt(w), y0 + rand.nextInt(h));
+            int count = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int idx = grid.neighbor(c1, dir);
+                if (idx != -1) neighbors[count++] = idx;
+            }
+            if (count > 0) grid.removeWalls(c1, neighbors[rand.nextInt(count)]);
+        }
+    }
+
+    private void assignTerrains(MazeGrid grid, SplittableRandom root) {
+        int size = grid.size();
+        int chunks = (size + TERRAIN_CHUNK - 1) / TERRAIN_CHUNK;
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) randoms[i] = root.split();
+
+        run(chunks, k -> {
+            SplittableRandom rand = randoms[k];
+            int end = Math.min(size, (k + 1) * TERRAIN_CHUNK);
+            for (int i = k * TERRAIN_CHUNK; i < end; i++) {
+                grid.setTerrainCost(i, MazeGenerator.terrainFor(rand.nextDouble()));
+            }
+        });
+    }
+
+    private void run(int tasks, java.util.function.IntConsumer task) {
+        pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task)).join();
+    }
+
+    private static int localNeighbors(int i, int w, int h, int[] out) {
+        int n = 0;
+        int c = i % w, r = i / w;
+        if (r > 0) out[n++] = i - w;
+        if (c < w - 1) out[n++] = i + 1;
+        if (r < h - 1) out[n++] = i + w;
+        if (c > 0) out[n++] = i - 1;
+        return n;
+    }
+
+    private static int toGlobal(MazeGrid grid, int local, int x0, int y0, int w) {
+        return grid.getIndex(x0 + local % w, y0 + local / w);
+    }
+}
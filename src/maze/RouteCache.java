@@ -0,0 +1,230 @@
+package maze;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Answers (start, end, algorithm) queries on one maze from a bounded LRU of results.
+// A source queried more than once gets a full shortest-path tree, so further queries from
+// it cost only the path walk. Both caches listen to the maze: after a wall or terrain
+// edit only the entries that edit can change are dropped.
+//
+// An edit that makes routes dearer (wall added, terrain raised) only matters to entries
+// whose route uses that wall or cell. An edit that makes routes cheaper (wall removed,
+// terrain lowered) only matters if a route through it could beat the cached cost. That
+// is checked with a lower bound: exact tree distances when a tree for the endpoint is
+// cached, otherwise Manhattan distance times the cheapest step.
+public class RouteCache implements MazeEditListener {
+    private final MazeGrid maze;
+    private final int capacity, treeCapacity;
+    private final Map<String, MazeSolver> solvers = new HashMap<>();
+
+    private final LinkedHashMap<Key, SolveResult> results;
+    private final HashMap<Integer, HashSet<Key>> byCell = new HashMap<>();
+    private final LinkedHashMap<Long, ShortestPathTree> trees;
+    private final HashMap<Long, Integer> sourceHits = new HashMap<>();
+
+    private long hits, misses, treeHits, invalidated;
+
+    public RouteCache(MazeGrid maze, int capacity, int treeCapacity) {
+        this.maze = maze;
+        this.capacity = capacity;
+        this.treeCapacity = treeCapacity;
+        this.results = new LinkedHashMap<>(16, 0.75f, true);
+        this.trees = new LinkedHashMap<>(16, 0.75f, true);
+        maze.addEditListener(this);
+    }
+
+    public void close() {
+        maze.removeEditListener(this);
+    }
+
+    public synchronized SolveResult query(int start, int end, String algo) {
+        Key key = new Key(start, end, algo);
+        SolveResult cached = results.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        int treeKind = treeKind(algo);
+        if (treeKind != -1) {
+            long treeKey = treeKey(start, treeKind == 1);
+            ShortestPathTree tree = trees.get(treeKey);
+            if (tree == null && sourceHits.size() > capacity) sourceHits.clear();
+            if (tree == null && sourceHits.merge(treeKey, 1, Integer::sum) > 1) {
+                tree = new ShortestPathTree(maze, start, treeKind == 1);
+                trees.put(treeKey, tree);
+                sourceHits.remove(treeKey);
+                if (trees.size() > treeCapacity) {
+                    Iterator<Long> eldest = trees.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            if (tree != null) {
+                treeHits++;
+                return tree.pathTo(algo, end);
+            }
+        }
+
+        misses++;
+        SolveResult result = solvers.computeIfAbsent(algo, MazeSolver::create).solve(maze, start, end);
+        put(key, result);
+        return result;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized int treeCount() {
+        return trees.size();
+    }
+
+    public synchronized String stats() {
+        return String.format("hits=%d treeHits=%d misses=%d invalidated=%d cached=%d trees=%d",
+                hits, treeHits, misses, invalidated, results.size(), trees.size());
+    }
+
+    @Override
+    public synchronized void wallChanged(int a, int b, boolean open) {
+        trees.values().removeIf(tree -> open
+                ? step(tree.dist, a, b, tree.weighted) || step(tree.dist, b, a, tree.weighted)
+                : tree.parent[b] == a || tree.parent[a] == b);
+
+        if (!open) {
+            HashSet<Key> onA = byCell.get(a), onB = byCell.get(b);
+            if (onA == null || onB == null) return;
+            HashSet<Key> both = new HashSet<>(onA);
+            both.retainAll(onB);
+            for (Key key : both) {
+                if (usesEdge(results.get(key), a, b)) evict(key);
+            }
+        } else {
+            int step = maze.minTerrainCost();
+            for (Key key : results.keySet().toArray(new Key[0])) {
+                SolveResult r = results.get(key);
+                boolean weighted = isWeighted(key.algo);
+                int costB = weighted ? maze.terrainCost(b) : 1, costA = weighted ? maze.terrainCost(a) : 1;
+                long via = Math.min(
+                        lowerBound(key.start, a, weighted, step) + costB + lowerBound(b, key.end, weighted, step),
+                        lowerBound(key.start, b, weighted, step) + costA + lowerBound(a, key.end, weighted, step));
+                if (!r.found || via < r.cost) evict(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void terrainChanged(int index, int oldCost, int newCost) {
+        trees.values().removeIf(tree -> tree.weighted && tree.source != index
+                && tree.dist[index] != ShortestPathTree.UNREACHABLE);
+
+        if (newCost > oldCost) {
+            HashSet<Key> on = byCell.get(index);
+            if (on == null) return;
+            for (Key key : on.toArray(new Key[0])) {
+                if (isWeighted(key.algo) && key.start != index) evict(key);
+            }
+        } else {
+            int step = maze.minTerrainCost();
+            for (Key key : results.keySet().toArray(new Key[0])) {
+                SolveResult r = results.get(key);
+                if (!isWeighted(key.algo) || !r.found || key.start == index) continue;
+                long via = lowerBound(key.start, index, true, step) - oldCost + newCost
+                        + lowerBound(index, key.end, true, step);
+                if (via < r.cost) evict(key);
+            }
+        }
+    }
+
+    private void put(Key key, SolveResult result) {
+        results.put(key, result);
+        for (int cell : result.path) byCell.computeIfAbsent(cell, c -> new HashSet<>()).add(key);
+        if (results.size() > capacity) evict(results.keySet().iterator().next());
+    }
+
+    private void evict(Key key) {
+        SolveResult result = results.remove(key);
+        if (result == null) return;
+        invalidated++;
+        for (int cell : result.path) {
+            HashSet<Key> keys = byCell.get(cell);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) byCell.remove(cell);
+        }
+    }
+
+    // Lower bound on the cost from `a` to `b`. Tree distances are exact; a tree rooted at
+    // `b` gives the reverse direction, since reversing a route swaps which end is paid for.
+    private long lowerBound(int a, int b, boolean weighted, int step) {
+        ShortestPathTree tree = trees.get(treeKey(a, weighted));
+        if (tree != null) return tree.dist[b] == ShortestPathTree.UNREACHABLE ? Long.MAX_VALUE / 4 : tree.dist[b];
+        tree = trees.get(treeKey(b, weighted));
+        if (tree != null) {
+            if (tree.dist[a] == ShortestPathTree.UNREACHABLE) return Long.MAX_VALUE / 4;
+            return weighted ? (long) tree.dist[a] - maze.terrainCost(a) + maze.terrainCost(b) : tree.dist[a];
+        }
+        long manhattan = Math.abs(maze.col(a) - maze.col(b)) + Math.abs(maze.row(a) - maze.row(b));
+        return weighted ? manhattan * step : manhattan;
+    }
+
+    // Would the newly opened step from -> to shorten the tree's route to `to`?
+    private boolean step(int[] dist, int from, int to, boolean weighted) {
+        if (dist[from] == ShortestPathTree.UNREACHABLE) return false;
+        long via = (long) dist[from] + (weighted ? maze.terrainCost(to) : 1);
+        return via < dist[to];
+    }
+
+    private static boolean usesEdge(SolveResult r, int a, int b) {
+        int[] p = r.path;
+        for (int i = 1; i < p.length; i++) {
+            if ((p[i - 1] == a && p[i] == b) || (p[i - 1] == b && p[i] == a)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isWeighted(String algo) {
+        return !(algo.equals("BFS") || algo.equals("DFS") || algo.equals("Bi-BFS") || algo.equals("Parallel BFS")
+                || algo.equals("BFS (bitboard)"));
+    }
+
+    // Algorithms that always return a shortest route can be served from a tree:
+    // 1 = weighted tree, 0 = unweighted tree, -1 = not tree-eligible.
+    private static int treeKind(String algo) {
+        switch (algo) {
+            case "Dijkstra": case "Bi-Dijkstra": case "Dijkstra (contracted)": return 1;
+            case "BFS": case "Bi-BFS": case "Parallel BFS": case "BFS (bitboard)": return 0;
+            default: return -1;
+        }
+    }
+
+    private static long treeKey(int source, boolean weighted) {
+        return ((long) source << 1) | (weighted ? 1 : 0);
+    }
+
+    private static final class Key {
+        final int start, end;
+        final String algo;
+
+        Key(int start, int end, String algo) {
+            this.start = start;
+            this.end = end;
+            this.algo = algo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return start == k.start && end == k.end && algo.equals(k.algo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, algo);
+        }
+    }
+}
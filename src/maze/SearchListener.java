@@ -0,0 +1,14 @@
+package maze;
+
+// Receives search progress from a MazeSolver. All callbacks run on the solving thread.
+public interface SearchListener {
+    SearchListener NONE = (index, cost) -> {};
+
+    void onExpand(int index, double cost);
+
+    // Open list size after an expansion, from solvers that track it.
+    default void onFrontier(int size) {}
+
+    // A cell was reached or got a cheaper tentative cost, from solvers that count relaxations.
+    default void onRelax(int index) {}
+}
@@ -0,0 +1,329 @@
+package maze;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+// One search run kept as bytes rather than objects: every expansion and relaxation in the
+// order the solver reported them, then the final path. An expansion is the zigzag varint
+// of its cell's difference to the previous event's cell, tagged x1 in the low bits. Bit 1
+// says its cost went up by the same step as at the previous expansion, as it does for
+// nearly every BFS step and every tie in a Dijkstra queue; otherwise the cost difference
+// follows as one more varint. A relaxation is usually of a neighbour of the cell being expanded,
+// and is then one byte naming the direction; any other relaxation is a difference to the
+// previous cell like an expansion's, tagged 10 in the low bits. Most events take one or
+// two bytes. A Recorder encodes after the search, so the search itself only pays for
+// storing raw ints.
+//
+// File layout, little-endian: int magic "TRCE", short version, short flags (1 = found),
+// int cols, int rows, int start, int end, int cost, int expansions, int relaxations,
+// int path cells, int event bytes, int path bytes, short name length, the UTF-8 name,
+// then the event and path streams.
+public final class SearchTrace {
+    public static final int MAGIC = 0x54524345;
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 50;
+    // Low bits of an event: x1 expansion (11 with the last cost step), 10 relaxation by
+    // difference, 00 relaxation by direction.
+    private static final int EXPANSION = 1, SAME_STEP = 2, RELAX_DELTA = 2;
+
+    public final String algorithm;
+    public final int cols, rows, start, end;
+    public final boolean found;
+    public final int cost, expansions, relaxations, pathCells;
+    private final byte[] events, path;
+
+    private SearchTrace(String algorithm, int cols, int rows, int start, int end, boolean found, int cost,
+                        int expansions, int relaxations, int pathCells, byte[] events, byte[] path) {
+        this.algorithm = algorithm;
+        this.cols = cols;
+        this.rows = rows;
+        this.start = start;
+        this.end = end;
+        this.found = found;
+        this.cost = cost;
+        this.expansions = expansions;
+        this.relaxations = relaxations;
+        this.pathCells = pathCells;
+        this.events = events;
+        this.path = path;
+    }
+
+    // Solves with a Recorder in front of `listener` and returns the trace of the run.
+    public static SearchTrace record(MazeSolver solver, MazeGrid maze, int start, int end, SearchListener listener) {
+        Recorder recorder = new Recorder(maze, listener);
+        SolveResult result = solver.solve(maze, start, end, recorder);
+        return recorder.finish(start, end, result);
+    }
+
+    // Encoded size, without the header.
+    public long bytes() {
+        return events.length + path.length;
+    }
+
+    public boolean sameMaze(SearchTrace other) {
+        return cols == other.cols && rows == other.rows && start == other.start && end == other.end;
+    }
+
+    public int[] path() {
+        int[] cells = new int[pathCells];
+        Decoder in = new Decoder(path);
+        int cell = 0;
+        for (int i = 0; i < pathCells; i++) cells[i] = cell += (int) unzigzag(in.varint());
+        return cells;
+    }
+
+    // Cells expanded at least once.
+    public BitSet expanded() {
+        BitSet cells = new BitSet(cols * rows);
+        for (Cursor c = cursor(); c.next(); ) if (c.isExpansion()) cells.set(c.cell());
+        return cells;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Walks the events in order; next() steps to the following one, false after the last.
+    public final class Cursor {
+        private final Decoder in = new Decoder(events);
+        private final int[] steps = {-cols, 1, cols, -1};
+        private int cell, head, expanded;
+        private long cost, step;
+        private boolean expansion;
+
+        public boolean next() {
+            if (in.pos == events.length) return false;
+            long v = in.varint();
+            expansion = (v & EXPANSION) != 0;
+            if (expansion) {
+                head = cell += (int) unzigzag(v >>> 2);
+                if ((v & SAME_STEP) == 0) step = unzigzag(in.varint());
+                cost += step;
+                expanded++;
+            } else if ((v & RELAX_DELTA) != 0) {
+                cell += (int) unzigzag(v >>> 2);
+            } else {
+                cell = head + steps[(int) (v >>> 2)];
+            }
+            return true;
+        }
+
+        public int cell() {
+            return cell;
+        }
+
+        public boolean isExpansion() {
+            return expansion;
+        }
+
+        // Cost reported with the latest expansion.
+        public long cost() {
+            return cost;
+        }
+
+        // Expansions read so far, this one included.
+        public int expanded() {
+            return expanded;
+        }
+    }
+
+    // How two runs over the same maze differ: cells only one of them expanded, and the
+    // first expansion at which their orders part.
+    public static final class Diff {
+        public final BitSet onlyA, onlyB, both;
+        public final int firstDivergence;
+
+        Diff(BitSet onlyA, BitSet onlyB, BitSet both, int firstDivergence) {
+            this.onlyA = onlyA;
+            this.onlyB = onlyB;
+            this.both = both;
+            this.firstDivergence = firstDivergence;
+        }
+    }
+
+    public static Diff diff(SearchTrace a, SearchTrace b) {
+        if (a.cols != b.cols || a.rows != b.rows) throw new IllegalArgumentException("Traces are of different mazes");
+        BitSet ea = a.expanded(), eb = b.expanded();
+        BitSet onlyA = (BitSet) ea.clone(), onlyB = (BitSet) eb.clone(), both = (BitSet) ea.clone();
+        onlyA.andNot(eb);
+        onlyB.andNot(ea);
+        both.and(eb);
+        Cursor ca = a.cursor(), cb = b.cursor();
+        int diverge = 0;
+        while (true) {
+            boolean moreA = nextExpansion(ca), moreB = nextExpansion(cb);
+            if (!moreA || !moreB || ca.cell() != cb.cell()) break;
+            diverge++;
+        }
+        return new Diff(onlyA, onlyB, both, diverge);
+    }
+
+    private static boolean nextExpansion(Cursor c) {
+        while (c.next()) if (c.isExpansion()) return true;
+        return false;
+    }
+
+    public void write(OutputStream out) throws IOException {
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES + name.length).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC).putShort((short) VERSION).putShort((short) (found ? 1 : 0));
+        head.putInt(cols).putInt(rows).putInt(start).putInt(end).putInt(cost);
+        head.putInt(expansions).putInt(relaxations).putInt(pathCells).putInt(events.length).putInt(path.length);
+        head.putShort((short) name.length).put(name);
+        out.write(head.array());
+        out.write(events);
+        out.write(path);
+    }
+
+    public static SearchTrace read(InputStream in) throws IOException {
+        ByteBuffer head = ByteBuffer.wrap(readFully(in, HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        if (head.getInt(0) != MAGIC) throw new IOException("Not a search trace");
+        int version = head.getShort(4);
+        if (version > VERSION) throw new IOException("Trace format version " + version + " is newer than " + VERSION);
+        boolean found = (head.getShort(6) & 1) != 0;
+        int cols = head.getInt(8), rows = head.getInt(12), start = head.getInt(16), end = head.getInt(20);
+        int cost = head.getInt(24), expansions = head.getInt(28), relaxations = head.getInt(32);
+        int pathCells = head.getInt(36), eventBytes = head.getInt(40), pathBytes = head.getInt(44);
+        int nameLength = head.getShort(48) & 0xFFFF;
+        if (eventBytes < 0 || pathBytes < 0 || pathCells < 0) throw new IOException("Trace has a bad header");
+        String algorithm = new String(readFully(in, nameLength), StandardCharsets.UTF_8);
+        return new SearchTrace(algorithm, cols, rows, start, end, found, cost, expansions, relaxations, pathCells,
+                readFully(in, eventBytes), readFully(in, pathBytes));
+    }
+
+    private static byte[] readFully(InputStream in, int n) throws IOException {
+        byte[] bytes = in.readNBytes(n);
+        if (bytes.length < n) throw new IOException("Trace is truncated");
+        return bytes;
+    }
+
+    // Logs events as they arrive and passes them on. The search thread only stores raw ints
+    // into an array sized for about one expansion and one relaxation per cell: an expansion
+    // is the complement of its cell followed by its rounded cost, a relaxation is the cell.
+    // finish(), called after the solve returns, encodes the log.
+    public static final class Recorder implements SearchListener {
+        private static final int PREALLOCATED_CELLS = 1 << 21;
+
+        private final MazeGrid maze;
+        private final SearchListener next;
+        private int[] log;
+        private int size, expansions, relaxations;
+
+        public Recorder(MazeGrid maze, SearchListener next) {
+            this.maze = maze;
+            this.next = next;
+            this.log = new int[3 * Math.min(maze.size(), PREALLOCATED_CELLS) + 16];
+        }
+
+        @Override
+        public void onExpand(int index, double cost) {
+            if (size + 2 > log.length) log = Arrays.copyOf(log, log.length * 2);
+            log[size] = ~index;
+            log[size + 1] = (int) Math.round(cost);
+            size += 2;
+            expansions++;
+            next.onExpand(index, cost);
+        }
+
+        @Override
+        public void onRelax(int index) {
+            if (size == log.length) log = Arrays.copyOf(log, log.length * 2);
+            log[size++] = index;
+            relaxations++;
+            next.onRelax(index);
+        }
+
+        @Override
+        public void onFrontier(int size) {
+            next.onFrontier(size);
+        }
+
+        public SearchTrace finish(int start, int end, SolveResult result) {
+            byte[] p = new byte[5 * result.path.length];
+            int at = 0, previous = 0;
+            for (int cell : result.path) {
+                at = varint(p, at, zigzag(cell - previous));
+                previous = cell;
+            }
+            byte[] events = encode();
+            log = null;
+            return new SearchTrace(result.algorithm, maze.cols, maze.rows, start, end, result.found, result.cost,
+                    expansions, relaxations, result.path.length, events, Arrays.copyOf(p, at));
+        }
+
+        // One pass over the log with the output position in a local; the buffer doubles when
+        // it might not hold the next event.
+        private byte[] encode() {
+            byte[] out = new byte[Math.max(1 << 12, size)];
+            int at = 0, cols = maze.cols, cell = 0, head = 0;
+            long cost = 0, step = 0;
+            for (int i = 0; i < size; i++) {
+                if (at + 20 > out.length) out = Arrays.copyOf(out, out.length * 2);
+                int index = log[i];
+                if (index < 0) {
+                    index = ~index;
+                    long c = log[++i];
+                    if (c - cost == step) {
+                        at = varint(out, at, zigzag(index - cell) << 2 | SAME_STEP | EXPANSION);
+                    } else {
+                        at = varint(out, at, zigzag(index - cell) << 2 | EXPANSION);
+                        at = varint(out, at, zigzag(step = c - cost));
+                    }
+                    cell = head = index;
+                    cost = c;
+                    continue;
+                }
+                int d = index - head;
+                if (d == -cols) out[at++] = 0;
+                else if (d == 1) out[at++] = 1 << 2;
+                else if (d == cols) out[at++] = 2 << 2;
+                else if (d == -1) out[at++] = 3 << 2;
+                else at = varint(out, at, zigzag(index - cell) << 2 | RELAX_DELTA);
+                cell = index;
+            }
+            return Arrays.copyOf(out, at);
+        }
+    }
+
+    // Writes `v` at `at` and returns the position after it.
+    private static int varint(byte[] out, int at, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out[at++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+        out[at++] = (byte) v;
+        return at;
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static final class Decoder {
+        private final byte[] buf;
+        private int pos;
+
+        Decoder(byte[] buf) {
+            this.buf = buf;
+        }
+
+        long varint() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+        }
+    }
+}
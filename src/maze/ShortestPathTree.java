@@ -0,0 +1,80 @@
+package maze;
+
+import java.util.Arrays;
+
+// Distances and parents from one source to every reachable cell: a full Dijkstra when
+// weighted, a full BFS otherwise. Distances use the same cost model as MazeSolver results.
+public class ShortestPathTree {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    public final int source;
+    public final boolean weighted;
+    final int[] dist;
+    final int[] parent;
+
+    public ShortestPathTree(MazeGrid maze, int source, boolean weighted) {
+        this.source = source;
+        this.weighted = weighted;
+        int n = maze.size();
+        dist = new int[n];
+        parent = new int[n];
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(parent, -1);
+        dist[source] = 0;
+        parent[source] = source;
+        int[] neighbors = new int[4];
+
+        if (weighted) {
+            IndexedMinHeap pq = new IndexedMinHeap();
+            pq.reset(n);
+            pq.insertOrUpdate(source, 0);
+            while (!pq.isEmpty()) {
+                int current = pq.poll();
+                int count = maze.getValidNeighbors(current, neighbors);
+                for (int i = 0; i < count; i++) {
+                    int next = neighbors[i];
+                    int newDist = dist[current] + maze.terrainCost(next);
+                    if (newDist < dist[next]) {
+                        dist[next] = newDist;
+                        parent[next] = current;
+                        pq.insertOrUpdate(next, newDist);
+                    }
+                }
+            }
+        } else {
+            int[] queue = new int[n];
+            int head = 0, tail = 0;
+            queue[tail++] = source;
+            while (head < tail) {
+                int current = queue[head++];
+                int count = maze.getValidNeighbors(current, neighbors);
+                for (int i = 0; i < count; i++) {
+                    int next = neighbors[i];
+                    if (dist[next] == UNREACHABLE) {
+                        dist[next] = dist[current] + 1;
+                        parent[next] = current;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    public int distance(int cell) {
+        return dist[cell];
+    }
+
+    public int parent(int cell) {
+        return parent[cell];
+    }
+
+    public SolveResult pathTo(String algo, int end) {
+        if (dist[end] == UNREACHABLE) return new SolveResult(algo, false, new int[0], 0, 0);
+        int length = 1;
+        for (int c = end; c != source; c = parent[c]) length++;
+        int[] path = new int[length];
+        int c = end;
+        for (int i = length - 1; i >= 0; i--, c = parent[c]) path[i] = c;
+        return new SolveResult(algo, true, path, dist[end], 0);
+    }
+}
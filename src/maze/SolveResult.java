@@ -0,0 +1,32 @@
+package maze;
+
+public class SolveResult {
+    public final String algorithm;
+    public final boolean found;
+    public final int[] path;
+    public final int cost;
+    public final int expanded;
+    // Largest open list seen and edge relaxations that improved a tentative cost; 0 for
+    // solvers that do not track them.
+    public final int maxFrontier;
+    public final int relaxations;
+
+    public SolveResult(String algorithm, boolean found, int[] path, int cost, int expanded) {
+        this(algorithm, found, path, cost, expanded, 0, 0);
+    }
+
+    public SolveResult(String algorithm, boolean found, int[] path, int cost, int expanded, int maxFrontier, int relaxations) {
+        this.algorithm = algorithm;
+        this.found = found;
+        this.path = path;
+        this.cost = cost;
+        this.expanded = expanded;
+        this.maxFrontier = maxFrontier;
+        this.relaxations = relaxations;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + (found ? " cost=" + cost + " length=" + path.length : " no path") + " expanded=" + expanded;
+    }
+}
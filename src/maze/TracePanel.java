@@ -0,0 +1,89 @@
+package maze;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Collection;
+import java.util.Objects;
+
+// Sidebar controls for recorded search traces: replay one at the playback speed, seek it
+// with the slider, or diff two runs on the maze. MazeGame fills the lists as runs finish
+// and moves the slider during a replay; everything here runs on the EDT.
+public class TracePanel extends JPanel {
+    private static final Color BG = new Color(50, 50, 50);
+
+    private final JComboBox<String> cmbA = new JComboBox<>(), cmbB = new JComboBox<>();
+    private final JSlider slider = new JSlider(0, 0, 0);
+    private final JLabel lblPosition = new JLabel("-", SwingConstants.CENTER);
+    private boolean updating;
+
+    public TracePanel(MazeGame game) {
+        super(new GridLayout(4, 1, 0, 4));
+        setBackground(BG);
+        setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(Color.GRAY), "Traces",
+                0, 0, new Font("SansSerif", Font.PLAIN, 12), Color.LIGHT_GRAY));
+
+        JButton btnReplay = button("Replay", MazeGame.DIFF_A_COLOR);
+        btnReplay.addActionListener(e -> {
+            if (cmbA.getSelectedItem() != null) game.replayTrace((String) cmbA.getSelectedItem());
+        });
+        JButton btnDiff = button("Diff", MazeGame.DIFF_B_COLOR);
+        btnDiff.addActionListener(e -> {
+            if (cmbA.getSelectedItem() != null && cmbB.getSelectedItem() != null)
+                game.diffTraces((String) cmbA.getSelectedItem(), (String) cmbB.getSelectedItem());
+        });
+        add(row(cmbA, btnReplay));
+        add(row(cmbB, btnDiff));
+
+        slider.setBackground(BG);
+        slider.addChangeListener(e -> {
+            if (!updating) game.seekTrace(slider.getValue());
+        });
+        add(slider);
+        lblPosition.setForeground(Color.LIGHT_GRAY);
+        lblPosition.setFont(new Font("Consolas", Font.PLAIN, 12));
+        add(lblPosition);
+    }
+
+    // Lists the recorded runs, keeping the current choices where they still exist.
+    public void setTraces(Collection<String> names) {
+        refill(cmbA, names, 0);
+        refill(cmbB, names, 1);
+    }
+
+    private static void refill(JComboBox<String> box, Collection<String> names, int fallback) {
+        Object selected = box.getSelectedItem();
+        box.removeAllItems();
+        for (String name : names) box.addItem(name);
+        if (selected != null && names.contains(selected)) box.setSelectedItem(selected);
+        else if (box.getItemCount() > fallback) box.setSelectedIndex(fallback);
+    }
+
+    // Shows expansion `position` of `total` without seeking.
+    public void setPosition(int position, int total) {
+        updating = true;
+        slider.setMaximum(total);
+        slider.setValue(position);
+        updating = false;
+        lblPosition.setText(total == 0 ? "-" : position + " / " + total);
+    }
+
+    public void setText(String text) {
+        lblPosition.setText(Objects.requireNonNullElse(text, "-"));
+    }
+
+    private static JPanel row(JComboBox<String> box, JButton button) {
+        JPanel p = new JPanel(new BorderLayout(5, 0));
+        p.setBackground(BG);
+        p.add(box, BorderLayout.CENTER);
+        p.add(button, BorderLayout.EAST);
+        return p;
+    }
+
+    private static JButton button(String text, Color color) {
+        JButton b = new JButton(text);
+        b.setFont(new Font("Segoe UI", Font.BOLD, 11));
+        b.setForeground(color.darker());
+        b.setFocusPainted(false);
+        return b;
+    }
+}
@@ -0,0 +1,79 @@
+package maze;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Records corner-to-corner runs of each algorithm on one seeded maze and reports what the
+// traces cost: solve time with and without a recorder, the time to encode the trace once
+// the solve has returned, encoded bytes, bytes per event, and
+// how each run's expanded cells differ from the first algorithm's. With an output directory
+// every trace is written as <algo>.trace and read back to check it round-trips.
+// Usage: java maze.TraceReport [cols=1024] [rows=1024] [seed=1] [algos=BFS,Dijkstra,A*] [outDir]
+public class TraceReport {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int cols = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        String[] algos = (args.length > 3 ? args[3] : "BFS,Dijkstra,A*").split(",");
+        Path dir = args.length > 4 ? Paths.get(args[4]) : null;
+
+        MazeGrid maze = new MazeGenerator(seed).generate(cols, rows);
+        int start = 0, end = maze.size() - 1;
+        if (dir != null) Files.createDirectories(dir);
+
+        System.out.printf(Locale.ROOT, "%-16s %9s %9s %9s %9s %9s %9s %8s %10s %10s %10s %8s%n", "algorithm", "expanded",
+                "relaxed", "plain ms", "trace ms", "overhead", "encode ms", "KB", "bytes/ev", "only this", "only first",
+                "parts at");
+        SearchTrace first = null;
+        for (String algo : algos) {
+            MazeSolver solver = MazeSolver.create(algo);
+            long plain = Long.MAX_VALUE, traced = Long.MAX_VALUE, encode = Long.MAX_VALUE;
+            SearchTrace trace = null;
+            // Best of a few rounds each, interleaved, so the JIT and the cache treat both alike.
+            for (int round = 0; round < ROUNDS; round++) {
+                long t = System.nanoTime();
+                solver.solve(maze, start, end);
+                plain = Math.min(plain, System.nanoTime() - t);
+                SearchTrace.Recorder recorder = new SearchTrace.Recorder(maze, SearchListener.NONE);
+                t = System.nanoTime();
+                SolveResult result = solver.solve(maze, start, end, recorder);
+                traced = Math.min(traced, System.nanoTime() - t);
+                t = System.nanoTime();
+                trace = recorder.finish(start, end, result);
+                encode = Math.min(encode, System.nanoTime() - t);
+            }
+            if (first == null) first = trace;
+            SearchTrace.Diff diff = SearchTrace.diff(trace, first);
+            long events = (long) trace.expansions + trace.relaxations;
+            System.out.printf(Locale.ROOT, "%-16s %9d %9d %9.1f %9.1f %8.1f%% %9.1f %8d %10.2f %10d %10d %8d%n",
+                    trace.algorithm, trace.expansions, trace.relaxations, plain / 1e6, traced / 1e6,
+                    100.0 * (traced - plain) / plain, encode / 1e6, trace.bytes() >> 10, (double) trace.bytes() / Math.max(1, events),
+                    diff.onlyA.cardinality(), diff.onlyB.cardinality(), diff.firstDivergence);
+
+            if (dir != null) {
+                Path file = dir.resolve(algo.replaceAll("[^A-Za-z0-9]+", "_") + ".trace");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    trace.write(out);
+                }
+                SearchTrace back;
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    back = SearchTrace.read(in);
+                }
+                boolean same = back.expanded().equals(trace.expanded()) && Arrays.equals(back.path(), trace.path())
+                        && back.cost == trace.cost && back.relaxations == trace.relaxations;
+                System.out.printf(Locale.ROOT, "  %s, %d KB, %s%n", file, Files.size(file) >> 10,
+                        same ? "reads back" : "DOES NOT READ BACK");
+            }
+        }
+    }
+}